@@ -1,37 +1,106 @@
 package algorithm;
 
+import algorithm.impl.connectivity.ConnectedComponents;
+import algorithm.impl.connectivity.ParallelSCC;
 import algorithm.impl.connectivity.Tarjan;
+import algorithm.impl.flow.Dinic;
+import algorithm.impl.flow.IncrementalMaxFlow;
 import algorithm.impl.flow.MaxFlow;
+import algorithm.impl.flow.PushRelabel;
 import algorithm.impl.shortestpath.AStar;
+import algorithm.impl.shortestpath.AllPairsShortestPath;
+import algorithm.impl.shortestpath.BidirectionalAStar;
+import algorithm.impl.shortestpath.BidirectionalDijkstra;
+import algorithm.impl.shortestpath.ContractionHierarchySearch;
+import algorithm.impl.shortestpath.DeltaStepping;
 import algorithm.impl.shortestpath.Dijkstra;
+import algorithm.impl.shortestpath.EuclideanHeuristic;
 import algorithm.impl.shortestpath.GBFS;
 import algorithm.impl.traversal.BFS;
 import algorithm.impl.traversal.DFS;
+import algorithm.impl.traversal.DirectionOptimizingBFS;
+import algorithm.impl.tree.Boruvka;
+import algorithm.impl.tree.FilterKruskal;
 import algorithm.impl.tree.Kruskal;
+import algorithm.impl.tree.Prim;
 import model.Graph;
+import model.GraphSnapshot;
+import model.PendingSnapshot;
+
+import java.util.function.Supplier;
 
 public class AlgoFactory {
 
     public static GraphAlgorithm createAlgorithm(AlgorithmType type, Graph graph, int start, int target) {
+        return prepare(type, graph, start, target).get();
+    }
+
+    // Gọi ở luồng giao diện: chỉ chép những gì phải đọc từ Graph (cột cạnh, luồng hiện tại, tọa độ đỉnh).
+    // Dựng CSR và khởi tạo thuật toán nằm trong supplier, được gọi ở luồng nền
+    public static Supplier<GraphAlgorithm> prepare(AlgorithmType type, Graph graph, int start, int target) {
+        PendingSnapshot snapshot = graph.pendingSnapshot();
         switch (type) {
             case BFS:
-                return new BFS(graph, start);
+                return () -> new BFS(snapshot.get(), start);
+            case BFS_DIRECTION_OPTIMIZING:
+                return () -> new DirectionOptimizingBFS(snapshot.get(), start);
             case DFS:
-                return new DFS(graph, start);
+                return () -> new DFS(snapshot.get(), start);
             case DIJKSTRA:
-                return new Dijkstra(graph, start, target);
+                return () -> new Dijkstra(snapshot.get(), start, target);
+            case DELTA_STEPPING:
+                return () -> {
+                    GraphSnapshot g = snapshot.get();
+                    return new DeltaStepping(g, start, target, DeltaStepping.defaultDelta(g));
+                };
+            case BIDIRECTIONAL_DIJKSTRA:
+                return () -> new BidirectionalDijkstra(snapshot.get(), start, target);
+            case ALL_PAIRS_SHORTEST_PATH:
+                return () -> new AllPairsShortestPath(snapshot.get());
             case KRUSKAL:
-                return new Kruskal(graph);
+                return () -> new Kruskal(snapshot.get());
+            case FILTER_KRUSKAL:
+                return () -> new FilterKruskal(snapshot.get());
+            case BORUVKA:
+                return () -> new Boruvka(snapshot.get());
+            case PRIM:
+                return () -> new Prim(snapshot.get(), start);
+            case CONNECTED_COMPONENTS:
+                return () -> new ConnectedComponents(snapshot.get());
             case TARJAN:
-                return new Tarjan(graph);
-            case MAX_FLOW:
-                return new MaxFlow(graph, start, target);
-            case GBFS:
-                return new GBFS(graph, start, target);
-            case ASTAR:
-                return new AStar(graph, start, target);
+                return () -> new Tarjan(snapshot.get());
+            case SCC_PARALLEL:
+                return () -> new ParallelSCC(snapshot.get());
+            case MAX_FLOW: {
+                int[] flows = graph.flows();
+                return () -> new MaxFlow(snapshot.get(), flows, start, target);
+            }
+            case MAX_FLOW_INCREMENTAL: {
+                int[] flows = graph.flows();
+                return () -> new IncrementalMaxFlow(snapshot.get(), flows, start, target);
+            }
+            case MAX_FLOW_DINIC:
+                return () -> new Dinic(snapshot.get(), start, target);
+            case MAX_FLOW_PUSH_RELABEL:
+                return () -> new PushRelabel(snapshot.get(), start, target);
+            case GBFS: {
+                double[] coords = EuclideanHeuristic.coordinatesOf(graph);
+                return () -> new GBFS(snapshot.get(), start, target, new EuclideanHeuristic(coords, target));
+            }
+            case ASTAR: {
+                double[] coords = EuclideanHeuristic.coordinatesOf(graph);
+                return () -> new AStar(snapshot.get(), start, target, new EuclideanHeuristic(coords, target));
+            }
+            case BIDIRECTIONAL_ASTAR: {
+                double[] coords = EuclideanHeuristic.coordinatesOf(graph);
+                return () -> new BidirectionalAStar(snapshot.get(), start, target, coords);
+            }
+            case ASTAR_ALT:
+                return () -> AStar.withLandmarks(snapshot.get(), start, target);
+            case CONTRACTION_HIERARCHY:
+                return () -> new ContractionHierarchySearch(snapshot.get(), start, target);
             default:
                 throw new IllegalArgumentException("Chưa hỗ trợ");
         }
     }
-}
\ No newline at end of file
+}
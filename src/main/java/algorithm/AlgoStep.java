@@ -5,6 +5,10 @@ public class AlgoStep {
     public enum Type {
         VISIT_VERTEX,
         EXPLORE_EDGE,
+        VISIT_VERTEX_BACKWARD,
+        EXPLORE_EDGE_BACKWARD,
+        // Cả một pha được gom thành một bước: u = số thứ tự pha, extraData = các đỉnh cách nhau bởi dấu cách
+        VISIT_BATCH,
         FINISH_VERTEX,
         HIGHLIGHT_PATH,
         HIGHLIGHT_NODE,
@@ -1,38 +1,93 @@
 package algorithm;
 
+import algorithm.impl.shortestpath.AllPairsShortestPath;
 import model.Graph;
 import java.util.function.Predicate;
 
 public enum AlgorithmType {
     BFS("Breadth-First Search", g -> true, true, false),
 
+    BFS_DIRECTION_OPTIMIZING("BFS (Direction-Optimizing, song song)", g -> true, true, false),
+
     DFS("Depth-First Search", g -> true, true, false),
 
     DIJKSTRA("Dijkstra Shortest Path",
             g -> g.isWeighted() && g.hasNegativeWeights(),
             true, true),
 
+    DELTA_STEPPING("Delta-Stepping (song song)",
+            g -> g.isWeighted() && g.hasNegativeWeights(),
+            true, true),
+
+    BIDIRECTIONAL_DIJKSTRA("Bidirectional Dijkstra",
+            g -> g.isWeighted() && g.hasNegativeWeights(),
+            true, true),
+
+    ALL_PAIRS_SHORTEST_PATH("All-Pairs Shortest Path",
+            g -> g.isWeighted() && g.hasNegativeWeights() && g.vertexCount() <= AllPairsShortestPath.MAX_VERTICES,
+            false, false),
+
     KRUSKAL("Kruskal MST",
             g -> g.isWeighted() && !g.isDirected(),
             false, false),
 
+    FILTER_KRUSKAL("Filter-Kruskal MST",
+            g -> g.isWeighted() && !g.isDirected(),
+            false, false),
+
+    BORUVKA("Borůvka MST (song song)",
+            g -> g.isWeighted() && !g.isDirected(),
+            false, false),
+
     PRIM("Prim MST",
             g -> g.isWeighted() && !g.isDirected(),
             true, false),
 
+    CONNECTED_COMPONENTS("Thành phần liên thông (song song)",
+            g -> !g.isDirected(),
+            false, false),
+
     TARJAN("Tarjan SCC",
             Graph::isDirected,
             false, false),
 
+    SCC_PARALLEL("SCC song song (FW-BW + Coloring)",
+            Graph::isDirected,
+            false, false),
+
     MAX_FLOW("Max Flow (Edmonds-Karp)",
             g -> g.isWeighted() && g.isDirected() && g.hasNegativeWeights(),
             true, true),
 
+    MAX_FLOW_INCREMENTAL("Max Flow (tăng dần từ luồng hiện tại)",
+            g -> g.isWeighted() && g.isDirected() && g.hasNegativeWeights(),
+            true, true),
+
+    MAX_FLOW_DINIC("Max Flow (Dinic)",
+            g -> g.isWeighted() && g.isDirected() && g.hasNegativeWeights(),
+            true, true),
+
+    MAX_FLOW_PUSH_RELABEL("Max Flow (Push-Relabel)",
+            g -> g.isWeighted() && g.isDirected() && g.hasNegativeWeights(),
+            true, true),
+
     GBFS("Greedy Best-First Search",
             Graph::isWeighted,
             true, true),
 
     ASTAR("A* Search",
+            g -> g.isWeighted() && g.hasNegativeWeights(),
+            true, true),
+
+    BIDIRECTIONAL_ASTAR("Bidirectional A*",
+            g -> g.isWeighted() && g.hasNegativeWeights(),
+            true, true),
+
+    ASTAR_ALT("A* (ALT Landmarks)",
+            g -> g.isWeighted() && g.hasNegativeWeights(),
+            true, true),
+
+    CONTRACTION_HIERARCHY("Contraction Hierarchies",
             g -> g.isWeighted() && g.hasNegativeWeights(),
             true, true);
 
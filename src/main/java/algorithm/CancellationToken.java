@@ -0,0 +1,27 @@
+package algorithm;
+
+import java.util.concurrent.CancellationException;
+
+// Hủy hợp tác: luồng giao diện gọi cancel(), luồng chạy thuật toán dừng ở lần kiểm tra kế tiếp.
+// Là một StepSink để ghép vào tee, nên mọi bước phát ra cũng là một điểm kiểm tra
+public final class CancellationToken implements StepSink {
+    private volatile boolean cancelled;
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public void emit(AlgoStep.Type type, int u, int v, String extraData) {
+        checkCancelled();
+    }
+
+    @Override
+    public void checkCancelled() {
+        if (cancelled) throw new CancellationException();
+    }
+}
@@ -3,5 +3,11 @@ package algorithm;
 import java.util.List;
 
 public interface GraphAlgorithm {
-    List<AlgoStep> run();
-}
\ No newline at end of file
+    void run(StepSink sink);
+
+    default List<AlgoStep> run() {
+        StepLog log = new StepLog();
+        run(log);
+        return log;
+    }
+}
@@ -0,0 +1,10 @@
+package algorithm;
+
+public interface HeadlessAlgorithm<R> extends GraphAlgorithm {
+    R getResult();
+
+    default R solve() {
+        run(StepSink.NONE);
+        return getResult();
+    }
+}
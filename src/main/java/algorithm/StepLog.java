@@ -0,0 +1,101 @@
+package algorithm;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+
+public class StepLog extends AbstractList<AlgoStep> implements StepSink {
+    private static final AlgoStep.Type[] TYPES = AlgoStep.Type.values();
+
+    // Mỗi bước chiếm 3 ô liên tiếp: type, u, v
+    private int[] data = new int[3 * 64];
+    private int size;
+
+    // Dữ liệu phụ (luồng / chuỗi) chỉ có ở một số ít bước, lưu thưa theo chỉ số bước tăng dần
+    private int[] payloadSteps = new int[8];
+    private long[] payloadNumbers = new long[8];
+    private String[] payloadTexts = new String[8];
+    private int payloadCount;
+
+    @Override
+    public void emit(AlgoStep.Type type, int u, int v, String extraData) {
+        append(type, u, v);
+        if (extraData != null) addPayload(0, extraData);
+    }
+
+    @Override
+    public void emitFlow(int u, int v, int flow, int capacity) {
+        append(AlgoStep.Type.UPDATE_FLOW_TEXT, u, v);
+        addPayload(((long) flow << 32) | (capacity & 0xFFFFFFFFL), null);
+    }
+
+    @Override
+    public AlgoStep get(int index) {
+        return new AlgoStep(type(index), u(index), v(index), extraData(index));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public AlgoStep.Type type(int index) {
+        checkIndex(index);
+        return TYPES[data[3 * index]];
+    }
+
+    public int u(int index) {
+        checkIndex(index);
+        return data[3 * index + 1];
+    }
+
+    public int v(int index) {
+        checkIndex(index);
+        return data[3 * index + 2];
+    }
+
+    public String extraData(int index) {
+        checkIndex(index);
+        int k = Arrays.binarySearch(payloadSteps, 0, payloadCount, index);
+        if (k < 0) return null;
+
+        String text = payloadTexts[k];
+        if (text != null) return text;
+
+        long packed = payloadNumbers[k];
+        return (int) (packed >> 32) + " / " + (int) packed;
+    }
+
+    public void replay(StepSink sink) {
+        for (int i = 0; i < size; i++) {
+            sink.emit(type(i), u(i), v(i), extraData(i));
+        }
+    }
+
+    private void append(AlgoStep.Type type, int u, int v) {
+        int pos = 3 * size;
+        if (pos + 3 > data.length) data = Arrays.copyOf(data, data.length * 2);
+        data[pos] = type.ordinal();
+        data[pos + 1] = u;
+        data[pos + 2] = v;
+        size++;
+    }
+
+    private void addPayload(long number, String text) {
+        if (payloadCount == payloadSteps.length) {
+            int capacity = payloadSteps.length * 2;
+            payloadSteps = Arrays.copyOf(payloadSteps, capacity);
+            payloadNumbers = Arrays.copyOf(payloadNumbers, capacity);
+            payloadTexts = Arrays.copyOf(payloadTexts, capacity);
+        }
+        payloadSteps[payloadCount] = size - 1;
+        payloadNumbers[payloadCount] = number;
+        payloadTexts[payloadCount] = text;
+        payloadCount++;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package algorithm;
+
+@FunctionalInterface
+public interface StepSink {
+    StepSink NONE = (type, u, v, extraData) -> { };
+
+    void emit(AlgoStep.Type type, int u, int v, String extraData);
+
+    default void emit(AlgoStep.Type type, int u, int v) {
+        emit(type, u, v, null);
+    }
+
+    default void emitFlow(int u, int v, int flow, int capacity) {
+        emit(AlgoStep.Type.UPDATE_FLOW_TEXT, u, v, flow + " / " + capacity);
+    }
+
+    // Thuật toán gọi ở vòng lặp chính, kể cả những đoạn không phát bước nào; ném CancellationException nếu bị hủy
+    default void checkCancelled() {
+    }
+
+    static StepSink tee(StepSink... sinks) {
+        return new StepSink() {
+            @Override
+            public void emit(AlgoStep.Type type, int u, int v, String extraData) {
+                for (StepSink sink : sinks) sink.emit(type, u, v, extraData);
+            }
+
+            @Override
+            public void emitFlow(int u, int v, int flow, int capacity) {
+                for (StepSink sink : sinks) sink.emitFlow(u, v, flow, capacity);
+            }
+
+            @Override
+            public void checkCancelled() {
+                for (StepSink sink : sinks) sink.checkCancelled();
+            }
+        };
+    }
+}
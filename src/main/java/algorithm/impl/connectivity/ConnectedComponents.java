@@ -0,0 +1,112 @@
+package algorithm.impl.connectivity;
+
+import algorithm.AlgoStep;
+import algorithm.HeadlessAlgorithm;
+import algorithm.StepSink;
+import algorithm.result.ComponentResult;
+import algorithm.util.ConcurrentUnionFind;
+import model.Graph;
+import model.GraphSnapshot;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+// Thành phần liên thông song song kiểu Afforest (Sutton và cộng sự): trước hết chỉ hợp mỗi đỉnh với vài láng giềng
+// đầu tiên, lấy mẫu để tìm thành phần khổng lồ, rồi chỉ duyệt nốt các cung còn lại của những đỉnh nằm ngoài nó.
+// Mỗi cạnh vô hướng có mặt ở cả hai hàng CSR nên bỏ qua hàng của đỉnh thuộc thành phần khổng lồ vẫn đủ
+public class ConnectedComponents implements HeadlessAlgorithm<ComponentResult> {
+    private static final int NEIGHBOR_ROUNDS = 2;
+    private static final int SAMPLES = 1024;
+    // Số đỉnh tối thiểu cho mỗi tác vụ trên common ForkJoinPool
+    private static final int GRAIN = 2048;
+
+    private final GraphSnapshot g;
+    private ComponentResult result;
+
+    public ConnectedComponents(Graph graph) {
+        this(graph.snapshot());
+    }
+
+    public ConnectedComponents(GraphSnapshot g) {
+        this.g = g;
+    }
+
+    @Override
+    public void run(StepSink sink) {
+        boolean trace = sink != StepSink.NONE;
+        int n = g.vertexCount();
+        ConcurrentUnionFind uf = new ConcurrentUnionFind(n);
+
+        for (int r = 0; r < NEIGHBOR_ROUNDS; r++) {
+            sink.checkCancelled();
+            int round = r;
+            forEachVertex(n, v -> {
+                int a = g.begin(v) + round;
+                if (a < g.end(v)) uf.union(v, g.target(a));
+            });
+        }
+
+        int giant = sampleLargest(uf, n);
+        sink.checkCancelled();
+
+        forEachVertex(n, v -> {
+            if (uf.find(v) == giant) return;
+            for (int a = g.begin(v) + NEIGHBOR_ROUNDS, end = g.end(v); a < end; a++) {
+                uf.union(v, g.target(a));
+            }
+        });
+
+        // Gốc là đỉnh nhỏ nhất của mỗi thành phần nên đánh số theo gốc cho kết quả ổn định
+        int[] component = new int[n + 1];
+        forEachVertex(n, v -> component[v] = uf.find(v));
+        component[0] = -1;
+        int count = 0;
+        for (int v = 1; v <= n; v++) {
+            component[v] = component[v] == v ? count++ : component[component[v]];
+        }
+
+        result = new ComponentResult(component, count);
+
+        if (trace) {
+            for (int v = 1; v <= n; v++) sink.emit(AlgoStep.Type.FOUND_SCC, v, component[v]);
+        }
+    }
+
+    @Override
+    public ComponentResult getResult() {
+        return result;
+    }
+
+    // Gốc xuất hiện nhiều nhất trong một mẫu đỉnh ngẫu nhiên (seed cố định để kết quả lặp lại được)
+    private static int sampleLargest(ConcurrentUnionFind uf, int n) {
+        if (n == 0) return 0;
+        SplittableRandom random = new SplittableRandom(n);
+        int[] roots = new int[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) roots[i] = uf.find(1 + random.nextInt(n));
+        Arrays.sort(roots);
+
+        int best = roots[0];
+        int bestRun = 0;
+        for (int i = 0; i < SAMPLES; ) {
+            int j = i;
+            while (j < SAMPLES && roots[j] == roots[i]) j++;
+            if (j - i > bestRun) {
+                bestRun = j - i;
+                best = roots[i];
+            }
+            i = j;
+        }
+        return best;
+    }
+
+    private static void forEachVertex(int n, IntConsumer action) {
+        int tasks = (n + GRAIN - 1) / GRAIN;
+        IntStream range = IntStream.range(0, tasks);
+        if (tasks > 1) range = range.parallel();
+        range.forEach(t -> {
+            for (int v = 1 + t * GRAIN, end = Math.min(n, (t + 1) * GRAIN); v <= end; v++) action.accept(v);
+        });
+    }
+}
@@ -0,0 +1,270 @@
+package algorithm.impl.connectivity;
+
+import algorithm.AlgoStep;
+import algorithm.HeadlessAlgorithm;
+import algorithm.StepSink;
+import algorithm.result.ComponentResult;
+import model.Graph;
+import model.GraphSnapshot;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+// SCC song song (Hong và cộng sự): tỉa đỉnh bậc vào/ra bằng 0, một lần forward-backward từ đỉnh
+// có bậc lớn nhất để tách SCC khổng lồ, phần còn lại chia bằng lan truyền màu rồi BFS ngược theo màu
+public class ParallelSCC implements HeadlessAlgorithm<ComponentResult> {
+    private static final int NONE = 0;
+    // Số đỉnh tối thiểu cho mỗi tác vụ trên common ForkJoinPool
+    private static final int GRAIN = 1024;
+
+    private final GraphSnapshot g;
+    private ComponentResult result;
+
+    // label[v] là đỉnh đại diện SCC của v, NONE khi chưa gán
+    private int[] label;
+    private int[] active;
+    private int activeCount;
+
+    public ParallelSCC(Graph graph) {
+        this(graph.snapshot());
+    }
+
+    public ParallelSCC(GraphSnapshot g) {
+        this.g = g;
+    }
+
+    @Override
+    public void run(StepSink sink) {
+        boolean trace = sink != StepSink.NONE;
+        int n = g.vertexCount();
+        GraphSnapshot rev = g.reverse();
+
+        label = new int[n + 1];
+        active = new int[n];
+        activeCount = n;
+        for (int v = 1; v <= n; v++) active[v - 1] = v;
+
+        trim(rev);
+        if (activeCount > 0) forwardBackward(rev);
+
+        AtomicIntegerArray color = new AtomicIntegerArray(n + 1);
+        while (activeCount > 0) {
+            sink.checkCancelled();
+            trim(rev);
+            if (activeCount == 0) break;
+            propagateColors(color);
+            collectByColor(rev, color);
+            compact();
+        }
+
+        // Đánh số lại theo đỉnh nhỏ nhất của mỗi SCC để kết quả không phụ thuộc thứ tự luồng
+        int[] component = new int[n + 1];
+        int[] idOf = new int[n + 1];
+        Arrays.fill(idOf, -1);
+        component[0] = -1;
+        int count = 0;
+        for (int v = 1; v <= n; v++) {
+            int rep = label[v];
+            if (idOf[rep] < 0) idOf[rep] = count++;
+            component[v] = idOf[rep];
+        }
+        label = null;
+        active = null;
+
+        result = new ComponentResult(component, count);
+
+        if (trace) {
+            for (int v = 1; v <= n; v++) sink.emit(AlgoStep.Type.FOUND_SCC, v, component[v]);
+        }
+    }
+
+    @Override
+    public ComponentResult getResult() {
+        return result;
+    }
+
+    // Đỉnh không còn cung vào hoặc cung ra trong phần chưa gán là một SCC đơn.
+    // Trong một vòng các luồng có thể đọc nhãn cũ của nhau, khi đó chỉ tỉa ít hơn và vòng sau bù lại
+    private void trim(GraphSnapshot rev) {
+        while (activeCount > 0) {
+            int size = activeCount;
+            int[] vertices = active;
+            int trimmed = forEachActive(size, (from, to) -> {
+                int count = 0;
+                for (int k = from; k < to; k++) {
+                    int v = vertices[k];
+                    if (!hasActiveNeighbour(g, v) || !hasActiveNeighbour(rev, v)) {
+                        label[v] = v;
+                        count++;
+                    }
+                }
+                return count;
+            });
+            if (trimmed == 0) return;
+            compact();
+        }
+    }
+
+    private boolean hasActiveNeighbour(GraphSnapshot graph, int v) {
+        for (int i = graph.begin(v), end = graph.end(v); i < end; i++) {
+            int w = graph.target(i);
+            if (w != v && label[w] == NONE) return true;
+        }
+        return false;
+    }
+
+    // Giao của tập tới được và tập tới được ngược từ pivot chính là SCC chứa pivot
+    private void forwardBackward(GraphSnapshot rev) {
+        int n = g.vertexCount();
+        int pivot = active[0];
+        long best = -1;
+        for (int k = 0; k < activeCount; k++) {
+            int v = active[k];
+            long score = (long) g.degree(v) * rev.degree(v);
+            if (score > best) {
+                best = score;
+                pivot = v;
+            }
+        }
+
+        AtomicIntegerArray forward = new AtomicIntegerArray(n + 1);
+        AtomicIntegerArray backward = new AtomicIntegerArray(n + 1);
+        reach(g, pivot, forward);
+        reach(rev, pivot, backward);
+
+        int size = activeCount;
+        int[] vertices = active;
+        int p = pivot;
+        forEachActive(size, (from, to) -> {
+            for (int k = from; k < to; k++) {
+                int v = vertices[k];
+                if (forward.get(v) != 0 && backward.get(v) != 0) label[v] = p;
+            }
+            return 0;
+        });
+        compact();
+    }
+
+    // BFS song song theo tầng trong phần chưa gán, seen[v] = 1 khi đã tới
+    private void reach(GraphSnapshot graph, int source, AtomicIntegerArray seen) {
+        int[] frontier = {source};
+        seen.set(source, 1);
+        while (frontier.length > 0) {
+            int[] current = frontier;
+            int tasks = (current.length + GRAIN - 1) / GRAIN;
+            int[][] found = new int[tasks][];
+            IntStream range = IntStream.range(0, tasks);
+            // Frontier nhỏ (đồ thị dạng đường dài) thì không đáng tách tác vụ
+            if (tasks > 1) range = range.parallel();
+            range.forEach(t -> {
+                int[] out = new int[16];
+                int count = 0;
+                for (int k = t * GRAIN, end = Math.min(current.length, (t + 1) * GRAIN); k < end; k++) {
+                    int u = current[k];
+                    for (int i = graph.begin(u), e = graph.end(u); i < e; i++) {
+                        int v = graph.target(i);
+                        if (label[v] == NONE && seen.get(v) == 0 && seen.compareAndSet(v, 0, 1)) {
+                            if (count == out.length) out = Arrays.copyOf(out, count * 2);
+                            out[count++] = v;
+                        }
+                    }
+                }
+                found[t] = Arrays.copyOf(out, count);
+            });
+
+            int total = 0;
+            for (int[] list : found) total += list.length;
+            frontier = new int[total];
+            int pos = 0;
+            for (int[] list : found) {
+                System.arraycopy(list, 0, frontier, pos, list.length);
+                pos += list.length;
+            }
+        }
+    }
+
+    // Mỗi đỉnh nhận màu lớn nhất tới được nó; SCC luôn nằm trọn trong một màu
+    // và đỉnh mang màu bằng chính nó là gốc của đúng một SCC
+    private void propagateColors(AtomicIntegerArray color) {
+        int size = activeCount;
+        int[] vertices = active;
+        for (int k = 0; k < size; k++) color.set(vertices[k], vertices[k]);
+
+        int changed = 1;
+        while (changed > 0) {
+            changed = forEachActive(size, (from, to) -> {
+                int count = 0;
+                for (int k = from; k < to; k++) {
+                    int u = vertices[k];
+                    int c = color.get(u);
+                    for (int i = g.begin(u), end = g.end(u); i < end; i++) {
+                        int v = g.target(i);
+                        if (label[v] != NONE) continue;
+                        while (true) {
+                            int cv = color.get(v);
+                            if (cv >= c) break;
+                            if (color.compareAndSet(v, cv, c)) {
+                                count++;
+                                break;
+                            }
+                        }
+                    }
+                }
+                return count;
+            });
+        }
+    }
+
+    // BFS ngược từ mỗi gốc chỉ đi qua đỉnh cùng màu; các màu rời nhau nên các gốc chạy song song
+    // mà không ghi chồng lên nhau
+    private void collectByColor(GraphSnapshot rev, AtomicIntegerArray color) {
+        int size = activeCount;
+        int[] vertices = active;
+        forEachActive(size, (from, to) -> {
+            int[] queue = new int[16];
+            for (int k = from; k < to; k++) {
+                int root = vertices[k];
+                if (color.get(root) != root) continue;
+
+                label[root] = root;
+                queue[0] = root;
+                int head = 0;
+                int tail = 1;
+                while (head < tail) {
+                    int u = queue[head++];
+                    for (int i = rev.begin(u), end = rev.end(u); i < end; i++) {
+                        int v = rev.target(i);
+                        if (label[v] != NONE || color.get(v) != root) continue;
+                        label[v] = root;
+                        if (tail == queue.length) queue = Arrays.copyOf(queue, tail * 2);
+                        queue[tail++] = v;
+                    }
+                }
+            }
+            return 0;
+        });
+    }
+
+    // Giữ lại các đỉnh chưa gán nhãn
+    private void compact() {
+        int size = 0;
+        for (int k = 0; k < activeCount; k++) {
+            int v = active[k];
+            if (label[v] == NONE) active[size++] = v;
+        }
+        activeCount = size;
+    }
+
+    private interface RangeTask {
+        int apply(int from, int to);
+    }
+
+    private static int forEachActive(int size, RangeTask task) {
+        int tasks = (size + GRAIN - 1) / GRAIN;
+        if (tasks <= 1) return task.apply(0, size);
+        return IntStream.range(0, tasks).parallel()
+                .map(t -> task.apply(t * GRAIN, Math.min(size, (t + 1) * GRAIN)))
+                .sum();
+    }
+}
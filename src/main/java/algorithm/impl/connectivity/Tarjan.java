@@ -1,86 +1,106 @@
 package algorithm.impl.connectivity;
 
 import algorithm.AlgoStep;
-import algorithm.GraphAlgorithm;
-import model.Edge;
+import algorithm.HeadlessAlgorithm;
+import algorithm.StepSink;
+import algorithm.result.ComponentResult;
 import model.Graph;
+import model.GraphSnapshot;
 import java.util.*;
 
-public class Tarjan implements GraphAlgorithm {
+public class Tarjan implements HeadlessAlgorithm<ComponentResult> {
 
-    private final Graph graph;
-    private final List<AlgoStep> steps;
-
-    private int idCounter;
-    private int sccCount;
-    private int n;
-
-    private int[] ids;
-    private int[] low;
-    private boolean[] onStack;
-    private Deque<Integer> stack;
+    private final GraphSnapshot g;
+    private ComponentResult result;
 
     public Tarjan(Graph graph) {
-        this.graph = graph;
-        this.steps = new ArrayList<>();
+        this(graph.snapshot());
+    }
+
+    public Tarjan(GraphSnapshot g) {
+        this.g = g;
     }
 
     @Override
-    public List<AlgoStep> run() {
-        steps.clear();
-        n = graph.vertexCount();
+    public void run(StepSink sink) {
+        boolean trace = sink != StepSink.NONE;
+        int n = g.vertexCount();
+
+        int[] ids = new int[n + 1];
+        int[] low = new int[n + 1];
+        int[] component = new int[n + 1];
+        boolean[] onStack = new boolean[n + 1];
+        Arrays.fill(ids, -1);
+        component[0] = -1;
 
-        ids = new int[n + 1];
-        low = new int[n + 1];
-        onStack = new boolean[n + 1];
-        stack = new ArrayDeque<>();
+        // Ngăn xếp Tarjan và ngăn xếp lời gọi (đỉnh + cung kế tiếp) thay cho đệ quy
+        int[] sccStack = new int[n];
+        int sp = 0;
+        int[] callStack = new int[n];
+        int[] cursor = new int[n];
 
-        Arrays.fill(ids, -1);
-        idCounter = 0;
-        sccCount = 0;
+        int idCounter = 0;
+        int sccCount = 0;
 
         for (int i = 1; i <= n; i++) {
-            if (ids[i] == -1) {
-                dfs(i);
+            if (ids[i] != -1) continue;
+
+            int top = 0;
+            callStack[0] = i;
+            cursor[0] = g.begin(i);
+            sccStack[sp++] = i;
+            onStack[i] = true;
+            ids[i] = low[i] = idCounter++;
+            if (trace) sink.emit(AlgoStep.Type.VISIT_VERTEX, i, -1);
+
+            while (top >= 0) {
+                sink.checkCancelled();
+                int at = callStack[top];
+
+                if (cursor[top] < g.end(at)) {
+                    int to = g.target(cursor[top]++);
+                    if (trace) sink.emit(AlgoStep.Type.EXPLORE_EDGE, at, to);
+
+                    if (ids[to] == -1) {
+                        top++;
+                        callStack[top] = to;
+                        cursor[top] = g.begin(to);
+                        sccStack[sp++] = to;
+                        onStack[to] = true;
+                        ids[to] = low[to] = idCounter++;
+                        if (trace) sink.emit(AlgoStep.Type.VISIT_VERTEX, to, -1);
+                    } else if (onStack[to]) {
+                        low[at] = Math.min(low[at], ids[to]);
+                    }
+                    continue;
+                }
+
+                if (ids[at] == low[at]) {
+                    while (sp > 0) {
+                        int node = sccStack[--sp];
+                        onStack[node] = false;
+                        component[node] = sccCount;
+
+                        if (trace) sink.emit(AlgoStep.Type.FOUND_SCC, node, sccCount);
+
+                        if (node == at) break;
+                    }
+                    sccCount++;
+                }
+
+                top--;
+                if (top >= 0) {
+                    int caller = callStack[top];
+                    low[caller] = Math.min(low[caller], low[at]);
+                }
             }
         }
 
-        return steps;
+        result = new ComponentResult(component, sccCount);
     }
 
-    private void dfs(int at) {
-        stack.push(at);
-        onStack[at] = true;
-        ids[at] = low[at] = idCounter++;
-
-        steps.add(new AlgoStep(AlgoStep.Type.VISIT_VERTEX, at, -1));
-
-        List<Edge> neighbors = graph.getAdj(at);
-        neighbors.sort(Comparator.comparingInt(e -> e.to));
-
-        for (Edge e : neighbors) {
-            int to = e.to;
-
-            steps.add(new AlgoStep(AlgoStep.Type.EXPLORE_EDGE, at, to));
-
-            if (ids[to] == -1) {
-                dfs(to);
-                low[at] = Math.min(low[at], low[to]);
-            } else if (onStack[to]) {
-                low[at] = Math.min(low[at], ids[to]);
-            }
-        }
-
-        if (ids[at] == low[at]) {
-            while (!stack.isEmpty()) {
-                int node = stack.pop();
-                onStack[node] = false;
-
-                steps.add(new AlgoStep(AlgoStep.Type.FOUND_SCC, node, sccCount));
-
-                if (node == at) break;
-            }
-            sccCount++;
-        }
+    @Override
+    public ComponentResult getResult() {
+        return result;
     }
-}
\ No newline at end of file
+}
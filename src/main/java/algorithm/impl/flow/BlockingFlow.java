@@ -0,0 +1,143 @@
+package algorithm.impl.flow;
+
+import algorithm.AlgoStep;
+import algorithm.StepSink;
+
+import java.util.Arrays;
+
+// Lõi pha Dinic trên đồ thị dư: BFS phân tầng từ source tới tầng đích gần nhất, rồi DFS bằng ngăn xếp tường minh
+// với con trỏ cung hiện tại để đẩy luồng chặn. Đích là mọi đỉnh có demand > 0 (MAX_VALUE = không giới hạn),
+// nên cùng một lõi dùng được cho s -> t lẫn việc dồn phần dư về các đỉnh đang thiếu.
+// backward = true: đi ngược cung dư, tức là kéo luồng từ đích về source
+final class BlockingFlow {
+    private final ResidualGraph r;
+    private final int[] level;
+    private final int[] current;
+    private final int[] queue;
+    private final int[] path;
+    // Số đỉnh được gán tầng ở lần BFS trước, chỉ những đỉnh đó cần xóa lại
+    private int labeled;
+    private int phase;
+    private int paths;
+
+    BlockingFlow(ResidualGraph r) {
+        this.r = r;
+        int n = r.vertexCount();
+        level = new int[n + 1];
+        current = new int[n + 1];
+        queue = new int[n];
+        path = new int[n];
+        Arrays.fill(level, -1);
+    }
+
+    int pathCount() {
+        return paths;
+    }
+
+    int push(int source, int limit, int[] demand, boolean backward, StepSink sink, AlgoStep.Type arcStep) {
+        boolean trace = sink != StepSink.NONE;
+        int pushed = 0;
+
+        while (pushed < limit) {
+            sink.checkCancelled();
+            int reached = buildLevels(source, demand, backward);
+            if (reached < 0) break;
+
+            if (trace) sink.emit(AlgoStep.Type.VISIT_BATCH, phase, -1, join(queue, reached));
+            phase++;
+
+            for (int i = 0; i < reached; i++) current[queue[i]] = r.begin(queue[i]);
+
+            int top = 0;
+            int u = source;
+            while (pushed < limit) {
+                if (u != source && demand[u] > 0) {
+                    int amount = limit - pushed;
+                    if (demand[u] != Integer.MAX_VALUE) amount = Math.min(amount, demand[u]);
+                    for (int k = 0; k < top; k++) amount = Math.min(amount, capacity(path[k], backward));
+
+                    int firstSaturated = -1;
+                    for (int k = 0; k < top; k++) {
+                        int a = backward ? r.mate(path[k]) : path[k];
+                        r.push(a, amount);
+                        if (firstSaturated < 0 && r.residual(a) == 0) firstSaturated = k;
+                        if (trace) {
+                            sink.emit(arcStep, r.tail(a), r.target(a));
+                            r.emitFlow(sink, r.edgeOf(a));
+                        }
+                    }
+                    if (trace) sink.emit(AlgoStep.Type.HIGHLIGHT_NODE, u, -1);
+                    if (demand[u] != Integer.MAX_VALUE) demand[u] -= amount;
+                    pushed += amount;
+                    paths++;
+
+                    // Lùi về đầu cung bão hòa đầu tiên, phần đường phía trước vẫn dùng lại được.
+                    // Không cung nào bão hòa thì đích vừa hết demand, đứng tại đó để nó tự thành ngõ cụt
+                    if (firstSaturated >= 0) {
+                        top = firstSaturated;
+                        u = top == 0 ? source : r.target(path[top - 1]);
+                    }
+                    continue;
+                }
+
+                int end = r.end(u);
+                while (current[u] < end) {
+                    int a = current[u];
+                    if (capacity(a, backward) > 0 && level[r.target(a)] == level[u] + 1) break;
+                    current[u]++;
+                }
+
+                if (current[u] < end) {
+                    int a = current[u];
+                    path[top++] = a;
+                    u = r.target(a);
+                } else {
+                    // Ngõ cụt: bỏ u khỏi đồ thị phân tầng và lùi một bước
+                    level[u] = -1;
+                    if (top == 0) break;
+                    int a = path[--top];
+                    u = r.tail(a);
+                    current[u]++;
+                }
+            }
+        }
+        return pushed;
+    }
+
+    private int capacity(int arc, boolean backward) {
+        return r.residual(backward ? r.mate(arc) : arc);
+    }
+
+    // BFS từ source, dừng sau tầng chứa đích đầu tiên; trả về số đỉnh đã vào hàng đợi, -1 nếu không tới được đích
+    private int buildLevels(int source, int[] demand, boolean backward) {
+        for (int i = 0; i < labeled; i++) level[queue[i]] = -1;
+        int head = 0, tail = 0;
+        queue[tail++] = source;
+        level[source] = 0;
+        int sinkLevel = -1;
+
+        while (head < tail) {
+            int u = queue[head++];
+            if (sinkLevel >= 0 && level[u] >= sinkLevel) break;
+            for (int a = r.begin(u), end = r.end(u); a < end; a++) {
+                int v = r.target(a);
+                if (level[v] < 0 && capacity(a, backward) > 0) {
+                    level[v] = level[u] + 1;
+                    queue[tail++] = v;
+                    if (sinkLevel < 0 && demand[v] > 0) sinkLevel = level[v];
+                }
+            }
+        }
+        labeled = tail;
+        return sinkLevel < 0 ? -1 : tail;
+    }
+
+    private static String join(int[] vertices, int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) sb.append(' ');
+            sb.append(vertices[i]);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,58 @@
+package algorithm.impl.flow;
+
+import algorithm.AlgoStep;
+import algorithm.HeadlessAlgorithm;
+import algorithm.StepSink;
+import algorithm.result.FlowResult;
+import model.Graph;
+import model.GraphSnapshot;
+
+// Dinic: mỗi pha dựng đồ thị phân tầng bằng BFS từ s rồi đẩy luồng chặn (xem BlockingFlow)
+public class Dinic implements HeadlessAlgorithm<FlowResult> {
+
+    private final GraphSnapshot g;
+    private final int s;
+    private final int t;
+
+    private FlowResult result;
+
+    public Dinic(Graph graph, int s, int t) {
+        this(graph.snapshot(), s, t);
+    }
+
+    public Dinic(GraphSnapshot g, int s, int t) {
+        this.g = g;
+        this.s = s;
+        this.t = t;
+    }
+
+    @Override
+    public void run(StepSink sink) {
+        boolean trace = sink != StepSink.NONE;
+        ResidualGraph r = ResidualGraph.of(g);
+
+        if (trace) {
+            for (int e = 0; e < r.edgeCount(); e++) r.emitFlow(sink, e);
+        }
+
+        int maxFlow = 0;
+        if (s != t) {
+            int[] demand = new int[g.vertexCount() + 1];
+            demand[t] = Integer.MAX_VALUE;
+            maxFlow = new BlockingFlow(r).push(s, Integer.MAX_VALUE, demand, false, sink,
+                    AlgoStep.Type.HIGHLIGHT_PATH);
+        }
+
+        result = new FlowResult(maxFlow, r.edgeFlows());
+
+        if (trace) {
+            sink.emit(AlgoStep.Type.SHOW_RESULT, -1, -1,
+                    "Tổng luồng cực đại: " + maxFlow);
+        }
+    }
+
+    @Override
+    public FlowResult getResult() {
+        return result;
+    }
+}
@@ -0,0 +1,111 @@
+package algorithm.impl.flow;
+
+import algorithm.AlgoStep;
+import algorithm.HeadlessAlgorithm;
+import algorithm.StepSink;
+import algorithm.result.FlowResult;
+import model.Graph;
+import model.GraphSnapshot;
+
+// Max flow khởi động ấm từ luồng của lần chạy trước: cạnh bị giảm sức chứa dưới luồng hiện tại được cắt bớt,
+// phần mất cân bằng ở hai đầu được sửa bằng các đường dư ngắn quanh cạnh đó, sau đó chỉ tăng luồng
+// trên đồ thị dư hiện có. Sửa đổi nhỏ thì chỉ tốn vài lần BFS thay vì tính lại từ đầu
+public class IncrementalMaxFlow implements HeadlessAlgorithm<FlowResult> {
+
+    private final int[] initialFlow;
+    private final GraphSnapshot g;
+    private final int s;
+    private final int t;
+
+    private FlowResult result;
+
+    public IncrementalMaxFlow(Graph graph, int s, int t) {
+        this(graph.snapshot(), graph.flows(), s, t);
+    }
+
+    public IncrementalMaxFlow(GraphSnapshot g, int[] initialFlow, int s, int t) {
+        this.initialFlow = initialFlow;
+        this.g = g;
+        this.s = s;
+        this.t = t;
+    }
+
+    @Override
+    public void run(StepSink sink) {
+        boolean trace = sink != StepSink.NONE;
+        int n = g.vertexCount();
+        ResidualGraph r = ResidualGraph.of(g);
+        // Luồng vào trừ luồng ra tại mỗi đỉnh, khác 0 ở đỉnh trung gian là vi phạm bảo toàn
+        int[] imbalance = new int[n + 1];
+
+        int clipped = 0;
+        for (int e = 0; e < r.edgeCount(); e++) {
+            int previous = initialFlow != null ? initialFlow[e] : 0;
+            int flow = Math.max(0, Math.min(previous, r.capacity(e)));
+            if (flow != previous) clipped++;
+            r.setFlow(e, flow);
+            imbalance[g.edgeTo(e)] += flow;
+            imbalance[g.edgeFrom(e)] -= flow;
+            if (trace) r.emitFlow(sink, e);
+        }
+
+        BlockingFlow blocking = new BlockingFlow(r);
+        boolean warm = s != t && repair(blocking, imbalance, sink);
+        if (!warm) {
+            // Luồng cũ không sửa được (ví dụ đã đổi nguồn/đích) thì bắt đầu lại từ 0
+            for (int e = 0; e < r.edgeCount(); e++) {
+                r.setFlow(e, 0);
+                if (trace) r.emitFlow(sink, e);
+            }
+        }
+
+        int repairPaths = blocking.pathCount();
+        if (s != t) {
+            int[] demand = new int[n + 1];
+            demand[t] = Integer.MAX_VALUE;
+            blocking.push(s, Integer.MAX_VALUE, demand, false, sink, AlgoStep.Type.HIGHLIGHT_PATH);
+        }
+        int augmentations = blocking.pathCount() - repairPaths;
+        int maxFlow = r.netOutflow(s);
+
+        result = new FlowResult(maxFlow, r.edgeFlows());
+
+        if (trace) {
+            String start = warm
+                    ? "khởi động ấm, cắt bớt luồng trên " + clipped + " cạnh"
+                    : "khởi động lại từ luồng 0";
+            sink.emit(AlgoStep.Type.SHOW_RESULT, -1, -1,
+                    "Tổng luồng cực đại: " + maxFlow + " (" + start + ", " + augmentations + " đường tăng luồng)");
+        }
+    }
+
+    @Override
+    public FlowResult getResult() {
+        return result;
+    }
+
+    // Dồn phần dư của mỗi đỉnh trung gian tới các đỉnh đang thiếu gần nhất (hoặc s/t), rồi bù phần thiếu
+    // còn lại bằng cách kéo luồng từ s hoặc t. Mỗi lần chỉ tìm đường từ đỉnh vi phạm nên chi phí tỉ lệ
+    // với vùng bị ảnh hưởng chứ không phải cả đồ thị
+    private boolean repair(BlockingFlow blocking, int[] imbalance, StepSink sink) {
+        int n = g.vertexCount();
+        int[] demand = new int[n + 1];
+        for (int v = 1; v <= n; v++) demand[v] = Math.max(0, -imbalance[v]);
+        demand[s] = demand[t] = Integer.MAX_VALUE;
+
+        for (int v = 1; v <= n; v++) {
+            if (v == s || v == t || imbalance[v] <= 0) continue;
+            int moved = blocking.push(v, imbalance[v], demand, false, sink, AlgoStep.Type.EXPLORE_EDGE);
+            if (moved < imbalance[v]) return false;
+        }
+
+        int[] ends = new int[n + 1];
+        ends[s] = ends[t] = Integer.MAX_VALUE;
+        for (int v = 1; v <= n; v++) {
+            if (v == s || v == t || demand[v] <= 0) continue;
+            int moved = blocking.push(v, demand[v], ends, true, sink, AlgoStep.Type.EXPLORE_EDGE);
+            if (moved < demand[v]) return false;
+        }
+        return true;
+    }
+}
@@ -1,142 +1,108 @@
 package algorithm.impl.flow;
 
 import algorithm.AlgoStep;
-import algorithm.GraphAlgorithm;
-import model.Edge;
+import algorithm.HeadlessAlgorithm;
+import algorithm.StepSink;
+import algorithm.result.FlowResult;
 import model.Graph;
-import java.util.*;
+import model.GraphSnapshot;
 
-public class MaxFlow implements GraphAlgorithm {
+public class MaxFlow implements HeadlessAlgorithm<FlowResult> {
 
-    private final Graph graph;
+    // Luồng khởi đầu theo chỉ số cạnh, đọc từ đồ thị lúc tạo (trên luồng giao diện); null = bắt đầu từ 0
+    private final int[] initialFlow;
+    private final GraphSnapshot g;
     private final int s;
     private final int t;
-    private final List<AlgoStep> steps;
 
-    private int[][] capacity;
-    private int[][] flow;
-    private List<Integer>[] adj;
-    private int[] parent;
+    private FlowResult result;
 
     public MaxFlow(Graph graph, int s, int t) {
-        this.graph = graph;
+        this(graph.snapshot(), graph.flows(), s, t);
+    }
+
+    public MaxFlow(GraphSnapshot g, int s, int t) {
+        this(g, null, s, t);
+    }
+
+    public MaxFlow(GraphSnapshot g, int[] initialFlow, int s, int t) {
+        this.initialFlow = initialFlow;
+        this.g = g;
         this.s = s;
         this.t = t;
-        this.steps = new ArrayList<>();
     }
 
     @Override
-    public List<AlgoStep> run() {
-        steps.clear();
-        int n = graph.vertexCount();
-
-        capacity = new int[n + 1][n + 1];
-        flow = new int[n + 1][n + 1];
-        adj = new ArrayList[n + 1];
-        parent = new int[n + 1];
-
-        for (int i = 1; i <= n; i++) adj[i] = new ArrayList<>();
-
-        int initialTotalFlow = 0;
-
-        for (Edge e : graph.getEdges()) {
-            capacity[e.from][e.to] = e.weight;
-
-            int validFlow = Math.min(e.currentFlow, e.weight);
-            flow[e.from][e.to] = validFlow;
-
-            adj[e.from].add(e.to);
-            adj[e.to].add(e.from);
-
-            steps.add(new AlgoStep(AlgoStep.Type.UPDATE_FLOW_TEXT, e.from, e.to,
-                    validFlow + " / " + e.weight));
-
-            if (e.from == s) {
-                initialTotalFlow += validFlow;
-            }
+    public void run(StepSink sink) {
+        boolean trace = sink != StepSink.NONE;
+        int n = g.vertexCount();
+        ResidualGraph r = ResidualGraph.of(g);
+
+        for (int e = 0; e < r.edgeCount(); e++) {
+            int validFlow = initialFlow == null ? 0 : Math.min(initialFlow[e], r.capacity(e));
+            r.setFlow(e, validFlow);
+            if (trace) r.emitFlow(sink, e);
         }
 
-        int maxFlow = initialTotalFlow;
+        int maxFlow = r.netOutflow(s);
 
-        while (bfs(n)) {
-            int pathFlow = Integer.MAX_VALUE;
-            int v = t;
-            while (v != s) {
-                int u = parent[v];
-
-                int residual = 0;
-                if (capacity[u][v] > 0) {
-                    residual = capacity[u][v] - flow[u][v];
-                } else {
-                    residual = flow[v][u];
-                }
+        int[] parentArc = new int[n + 1];
+        int[] visited = new int[n + 1];
+        int[] queue = new int[n];
+        int round = 0;
 
-                pathFlow = Math.min(pathFlow, residual);
-                v = u;
+        while (s != t && bfs(r, ++round, visited, parentArc, queue)) {
+            sink.checkCancelled();
+            int pathFlow = Integer.MAX_VALUE;
+            for (int v = t; v != s; v = r.tail(parentArc[v])) {
+                pathFlow = Math.min(pathFlow, r.residual(parentArc[v]));
             }
 
-            v = t;
-            while (v != s) {
-                int u = parent[v];
+            for (int v = t; v != s; ) {
+                int a = parentArc[v];
+                int u = r.tail(a);
+                r.push(a, pathFlow);
 
-                if (capacity[u][v] > 0) {
-                    flow[u][v] += pathFlow;
-                } else {
-                    flow[v][u] -= pathFlow;
+                if (trace) {
+                    sink.emit(AlgoStep.Type.HIGHLIGHT_PATH, u, v);
+                    r.emitFlow(sink, r.edgeOf(a));
                 }
-
-                steps.add(new AlgoStep(AlgoStep.Type.HIGHLIGHT_PATH, u, v));
-
-                if (graphContainsEdge(u, v)) {
-                    String status = flow[u][v] + " / " + capacity[u][v];
-                    steps.add(new AlgoStep(AlgoStep.Type.UPDATE_FLOW_TEXT, u, v, status));
-                } else if (graphContainsEdge(v, u)) {
-                    String status = flow[v][u] + " / " + capacity[v][u];
-                    steps.add(new AlgoStep(AlgoStep.Type.UPDATE_FLOW_TEXT, v, u, status));
-                }
-
                 v = u;
             }
             maxFlow += pathFlow;
-            steps.add(new AlgoStep(AlgoStep.Type.HIGHLIGHT_NODE, t, -1));
+            if (trace) sink.emit(AlgoStep.Type.HIGHLIGHT_NODE, t, -1);
         }
 
-        for (Edge e : graph.getEdges()) {
-            e.currentFlow = flow[e.from][e.to];
-        }
+        result = new FlowResult(maxFlow, r.edgeFlows());
 
-        steps.add(new AlgoStep(AlgoStep.Type.SHOW_RESULT, -1, -1,
-                "Tổng luồng cực đại: " + maxFlow));
+        if (trace) {
+            sink.emit(AlgoStep.Type.SHOW_RESULT, -1, -1,
+                    "Tổng luồng cực đại: " + maxFlow);
+        }
+    }
 
-        return steps;
+    @Override
+    public FlowResult getResult() {
+        return result;
     }
 
-    private boolean bfs(int n) {
-        Arrays.fill(parent, 0);
-        Queue<Integer> q = new LinkedList<>();
-        q.add(s);
-        parent[s] = -1;
-
-        while (!q.isEmpty()) {
-            int u = q.poll();
-            for (int v : adj[u]) {
-                if (parent[v] == 0) {
-                    int residual = 0;
-                    if (capacity[u][v] > 0) residual = capacity[u][v] - flow[u][v];
-                    else residual = flow[v][u]; // Cạnh ngược
-
-                    if (residual > 0) {
-                        parent[v] = u;
-                        if (v == t) return true;
-                        q.add(v);
-                    }
+    private boolean bfs(ResidualGraph r, int round, int[] visited, int[] parentArc, int[] queue) {
+        int head = 0, tail = 0;
+        queue[tail++] = s;
+        visited[s] = round;
+
+        while (head < tail) {
+            int u = queue[head++];
+            for (int a = r.begin(u), end = r.end(u); a < end; a++) {
+                int v = r.target(a);
+                if (visited[v] != round && r.residual(a) > 0) {
+                    visited[v] = round;
+                    parentArc[v] = a;
+                    if (v == t) return true;
+                    queue[tail++] = v;
                 }
             }
         }
         return false;
     }
-
-    private boolean graphContainsEdge(int u, int v) {
-        return capacity[u][v] > 0;
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,194 @@
+package algorithm.impl.flow;
+
+import algorithm.AlgoStep;
+import algorithm.HeadlessAlgorithm;
+import algorithm.StepSink;
+import algorithm.result.FlowResult;
+import model.Graph;
+import model.GraphSnapshot;
+
+import java.util.Arrays;
+
+// Push-relabel (Goldberg-Tarjan) chọn đỉnh theo FIFO, một pha: đỉnh không tới được t được nâng lên trên n
+// và trả phần dư về s nên kết thúc là một luồng hợp lệ. Dùng thêm global relabel (BFS ngược từ t, rồi từ s)
+// sau mỗi n lần relabel và heuristic khe hở (gap) khi một độ cao dưới n không còn đỉnh nào
+public class PushRelabel implements HeadlessAlgorithm<FlowResult> {
+
+    private final GraphSnapshot g;
+    private final int s;
+    private final int t;
+
+    private FlowResult result;
+
+    private ResidualGraph r;
+    private int n;
+    private int[] height;
+    private int[] excess;
+    private int[] current;
+    // count[h]: số đỉnh có độ cao h, chỉ theo dõi h < n
+    private int[] count;
+
+    private int[] queue;
+    private int qHead;
+    private int qSize;
+    private boolean[] queued;
+    private int[] order;
+
+    public PushRelabel(Graph graph, int s, int t) {
+        this(graph.snapshot(), s, t);
+    }
+
+    public PushRelabel(GraphSnapshot g, int s, int t) {
+        this.g = g;
+        this.s = s;
+        this.t = t;
+    }
+
+    @Override
+    public void run(StepSink sink) {
+        boolean trace = sink != StepSink.NONE;
+        n = g.vertexCount();
+        r = ResidualGraph.of(g);
+        height = new int[n + 1];
+        excess = new int[n + 1];
+        current = new int[n + 1];
+        count = new int[n + 1];
+        queue = new int[n + 1];
+        queued = new boolean[n + 1];
+        order = new int[n];
+        qHead = 0;
+        qSize = 0;
+
+        if (trace) {
+            for (int e = 0; e < r.edgeCount(); e++) r.emitFlow(sink, e);
+        }
+
+        if (s != t) {
+            for (int a = r.begin(s), end = r.end(s); a < end; a++) {
+                int cap = r.residual(a);
+                if (cap > 0) push(a, cap, sink, trace);
+            }
+            globalRelabel();
+
+            int relabels = 0;
+            while (qSize > 0) {
+                sink.checkCancelled();
+                int u = queue[qHead];
+                qHead = (qHead + 1) % queue.length;
+                qSize--;
+                queued[u] = false;
+
+                while (excess[u] > 0) {
+                    if (current[u] == r.end(u)) {
+                        relabel(u);
+                        if (++relabels >= n) {
+                            globalRelabel();
+                            relabels = 0;
+                        }
+                        continue;
+                    }
+
+                    int a = current[u];
+                    int v = r.target(a);
+                    if (r.residual(a) > 0 && height[u] == height[v] + 1) {
+                        push(a, Math.min(excess[u], r.residual(a)), sink, trace);
+                    } else {
+                        current[u]++;
+                    }
+                }
+            }
+        }
+
+        int maxFlow = excess[t];
+        result = new FlowResult(maxFlow, r.edgeFlows());
+        r = null;
+        height = excess = current = count = queue = order = null;
+        queued = null;
+
+        if (trace) {
+            sink.emit(AlgoStep.Type.SHOW_RESULT, -1, -1,
+                    "Tổng luồng cực đại: " + maxFlow);
+        }
+    }
+
+    @Override
+    public FlowResult getResult() {
+        return result;
+    }
+
+    private void push(int a, int amount, StepSink sink, boolean trace) {
+        int u = r.tail(a);
+        int v = r.target(a);
+        r.push(a, amount);
+        excess[u] -= amount;
+        excess[v] += amount;
+
+        if (v != s && v != t && !queued[v]) {
+            queue[(qHead + qSize) % queue.length] = v;
+            qSize++;
+            queued[v] = true;
+        }
+
+        if (trace) {
+            sink.emit(AlgoStep.Type.EXPLORE_EDGE, u, v);
+            r.emitFlow(sink, r.edgeOf(a));
+        }
+    }
+
+    private void relabel(int u) {
+        int old = height[u];
+        int lowest = 2 * n;
+        for (int a = r.begin(u), end = r.end(u); a < end; a++) {
+            if (r.residual(a) > 0) lowest = Math.min(lowest, height[r.target(a)] + 1);
+        }
+
+        if (old < n && --count[old] == 0) {
+            // Khe hở tại độ cao old: mọi đỉnh cao hơn (dưới n) không còn đường tới t
+            for (int v = 1; v <= n; v++) {
+                int h = height[v];
+                if (v != s && h > old && h < n) {
+                    count[h]--;
+                    height[v] = n + 1;
+                    current[v] = r.begin(v);
+                }
+            }
+            lowest = Math.max(lowest, n + 1);
+        }
+
+        height[u] = lowest;
+        if (lowest < n) count[lowest]++;
+        current[u] = r.begin(u);
+    }
+
+    // Độ cao chính xác: khoảng cách dư tới t, đỉnh không tới được t thì n + khoảng cách dư tới s
+    private void globalRelabel() {
+        Arrays.fill(height, -1);
+        Arrays.fill(count, 0);
+        height[t] = 0;
+        height[s] = n;
+        bfsFrom(t);
+        bfsFrom(s);
+
+        for (int v = 1; v <= n; v++) {
+            if (height[v] < 0) height[v] = 2 * n;
+            else if (height[v] < n) count[height[v]]++;
+            current[v] = r.begin(v);
+        }
+    }
+
+    // Duyệt ngược trên đồ thị dư: w nhận độ cao khi cung dư w -> v còn sức chứa
+    private void bfsFrom(int root) {
+        int head = 0, tail = 0;
+        order[tail++] = root;
+        while (head < tail) {
+            int v = order[head++];
+            for (int a = r.begin(v), end = r.end(v); a < end; a++) {
+                int w = r.target(a);
+                if (height[w] < 0 && r.residual(r.mate(a)) > 0) {
+                    height[w] = height[v] + 1;
+                    order[tail++] = w;
+                }
+            }
+        }
+    }
+}
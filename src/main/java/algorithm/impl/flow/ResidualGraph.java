@@ -0,0 +1,155 @@
+package algorithm.impl.flow;
+
+import algorithm.StepSink;
+import model.GraphSnapshot;
+
+import java.util.Arrays;
+
+// Đồ thị dư dạng CSR: mỗi cạnh e sinh một cung xuôi (sức chứa w) và một cung ngược (0, hoặc w nếu
+// đồ thị vô hướng), mate[] nối hai cung với nhau. Cung của u: các cung ra theo thứ tự snapshot rồi tới
+// các cung ngược của cạnh đi vào u, đúng thứ tự duyệt của bản ma trận cũ
+final class ResidualGraph {
+    private final int n;
+    private final int[] offsets;
+    private final int[] head;
+    private final int[] mate;
+    private final int[] residual;
+    private final int[] arcEdge;
+
+    private final int[] forwardArc;
+    private final int[] capacity;
+    private final boolean directed;
+
+    private ResidualGraph(GraphSnapshot g) {
+        n = g.vertexCount();
+        directed = g.isDirected();
+        int m = g.edgeCount();
+        int arcs = 2 * m;
+
+        offsets = new int[n + 2];
+        head = new int[arcs];
+        mate = new int[arcs];
+        residual = new int[arcs];
+        arcEdge = new int[arcs];
+        forwardArc = new int[m];
+        capacity = new int[m];
+        int[] backwardArc = new int[m];
+        Arrays.fill(forwardArc, -1);
+
+        for (int e = 0; e < m; e++) capacity[e] = g.edgeWeight(e);
+
+        GraphSnapshot rev = g.reverse();
+        int pos = 0;
+        for (int u = 1; u <= n; u++) {
+            offsets[u] = pos;
+            for (int i = g.begin(u), end = g.end(u); i < end; i++) {
+                int e = g.edgeOf(i);
+                head[pos] = g.target(i);
+                arcEdge[pos] = e;
+                if (forwardArc[e] < 0 && (directed || u == g.edgeFrom(e))) forwardArc[e] = pos;
+                else backwardArc[e] = pos;
+                pos++;
+            }
+            if (!directed) continue;
+            for (int i = rev.begin(u), end = rev.end(u); i < end; i++) {
+                int e = rev.edgeOf(i);
+                head[pos] = rev.target(i);
+                arcEdge[pos] = e;
+                backwardArc[e] = pos;
+                pos++;
+            }
+        }
+        offsets[n + 1] = pos;
+
+        for (int e = 0; e < m; e++) {
+            int a = forwardArc[e];
+            int b = backwardArc[e];
+            mate[a] = b;
+            mate[b] = a;
+            residual[a] = capacity[e];
+            residual[b] = directed ? 0 : capacity[e];
+        }
+    }
+
+    static ResidualGraph of(GraphSnapshot g) {
+        return new ResidualGraph(g);
+    }
+
+    int vertexCount() {
+        return n;
+    }
+
+    int edgeCount() {
+        return capacity.length;
+    }
+
+    int begin(int u) {
+        return offsets[u];
+    }
+
+    int end(int u) {
+        return offsets[u + 1];
+    }
+
+    int target(int arc) {
+        return head[arc];
+    }
+
+    int tail(int arc) {
+        return head[mate[arc]];
+    }
+
+    int mate(int arc) {
+        return mate[arc];
+    }
+
+    int residual(int arc) {
+        return residual[arc];
+    }
+
+    int edgeOf(int arc) {
+        return arcEdge[arc];
+    }
+
+    void push(int arc, int amount) {
+        residual[arc] -= amount;
+        residual[mate[arc]] += amount;
+    }
+
+    int capacity(int e) {
+        return capacity[e];
+    }
+
+    // Luồng theo chiều from -> to của cạnh; với đồ thị vô hướng có thể âm
+    int flow(int e) {
+        return capacity[e] - residual[forwardArc[e]];
+    }
+
+    void setFlow(int e, int flow) {
+        int a = forwardArc[e];
+        residual[a] = capacity[e] - flow;
+        residual[mate[a]] = (directed ? 0 : capacity[e]) + flow;
+    }
+
+    // Luồng ra trừ luồng vào của v
+    int netOutflow(int v) {
+        int total = 0;
+        for (int a = offsets[v]; a < offsets[v + 1]; a++) {
+            int e = arcEdge[a];
+            if (forwardArc[e] == a) total += flow(e);
+            else total -= flow(e);
+        }
+        return total;
+    }
+
+    int[] edgeFlows() {
+        int[] flows = new int[capacity.length];
+        for (int e = 0; e < flows.length; e++) flows[e] = flow(e);
+        return flows;
+    }
+
+    void emitFlow(StepSink sink, int e) {
+        int a = forwardArc[e];
+        sink.emitFlow(head[mate[a]], head[a], flow(e), capacity[e]);
+    }
+}
@@ -1,108 +1,112 @@
 package algorithm.impl.shortestpath;
 
 import algorithm.AlgoStep;
-import algorithm.GraphAlgorithm;
-import model.Edge;
+import algorithm.HeadlessAlgorithm;
+import algorithm.StepSink;
+import algorithm.result.ShortestPathResult;
+import algorithm.util.IndexedMinHeap;
 import model.Graph;
-import model.Vertex;
+import model.GraphSnapshot;
 
 import java.util.*;
+import java.util.function.Function;
 
-public class AStar implements GraphAlgorithm {
+public class AStar implements HeadlessAlgorithm<ShortestPathResult> {
 
-    private final Graph graph;
+    private final GraphSnapshot g;
     private final int start;
     private final int target;
-    private final List<AlgoStep> steps;
+    // Heuristic được dựng trong run để tiền xử lý (nếu có) chạy ở luồng thuật toán và kiểm tra hủy qua sink
+    private final Function<StepSink, Heuristic> heuristics;
+    private StepSink sink;
+    private ShortestPathResult result;
 
     public AStar(Graph graph, int start, int target) {
-        this.graph = graph;
+        this(graph.snapshot(), start, target, new EuclideanHeuristic(graph, target));
+    }
+
+    public AStar(GraphSnapshot g, int start, int target, Heuristic heuristic) {
+        this(g, start, target, (StepSink sink) -> heuristic);
+    }
+
+    private AStar(GraphSnapshot g, int start, int target, Function<StepSink, Heuristic> heuristics) {
+        this.g = g;
         this.start = start;
         this.target = target;
-        this.steps = new ArrayList<>();
+        this.heuristics = heuristics;
     }
 
-    @Override
-    public List<AlgoStep> run() {
-        steps.clear();
-        int n = graph.vertexCount();
+    // ALT: landmark được tính (hoặc lấy từ cache) ở lần chạy đầu tiên trên phiên bản đồ thị này
+    public static AStar withLandmarks(GraphSnapshot g, int start, int target) {
+        return new AStar(g, start, target, (StepSink sink) -> Landmarks.of(g, sink).towards(target));
+    }
 
-        Map<Integer, Double> gScore = new HashMap<>();
+    @Override
+    public void run(StepSink sink) {
+        this.sink = sink;
+        boolean trace = sink != StepSink.NONE;
+        int n = g.vertexCount();
+        Heuristic heuristic = heuristics.apply(sink);
 
-        PriorityQueue<NodeCost> pq = new PriorityQueue<>(Comparator.comparingDouble(node -> node.fCost));
+        int[] gScore = new int[n + 1];
+        int[] parent = new int[n + 1];
+        Arrays.fill(gScore, ShortestPathResult.UNREACHABLE);
+        Arrays.fill(parent, -1);
 
-        Map<Integer, Integer> parent = new HashMap<>();
+        IndexedMinHeap open = new IndexedMinHeap(n + 1);
 
-        gScore.put(start, 0.0);
-        Vertex targetV = graph.getVertex(target);
-        pq.add(new NodeCost(start, heuristic(start, targetV)));
+        gScore[start] = 0;
+        open.insert(start, heuristic.estimate(start));
 
         boolean found = false;
 
-        while (!pq.isEmpty()) {
-            NodeCost current = pq.poll();
-            int u = current.id;
-            steps.add(new AlgoStep(AlgoStep.Type.VISIT_VERTEX, u, -1));
+        while (!open.isEmpty()) {
+            sink.checkCancelled();
+            int u = open.poll();
+            if (trace) sink.emit(AlgoStep.Type.VISIT_VERTEX, u, -1);
             if (u == target) {
                 found = true;
                 break;
             }
-            for (Edge e : graph.getAdj(u)) {
-                int v = e.to;
-                double newG = gScore.get(u) + e.weight;
-                if (newG < gScore.getOrDefault(v, Double.MAX_VALUE)) {
-                    gScore.put(v, newG);
-                    parent.put(v, u);
-                    double h = heuristic(v, targetV);
-                    double f = newG + h;
-                    pq.add(new NodeCost(v, f));
-                    steps.add(new AlgoStep(AlgoStep.Type.EXPLORE_EDGE, u, v));
+            for (int i = g.begin(u), end = g.end(u); i < end; i++) {
+                int v = g.target(i);
+                int newG = gScore[u] + g.weight(i);
+                if (newG < gScore[v]) {
+                    gScore[v] = newG;
+                    parent[v] = u;
+                    // Heuristic Euclid chỉ chấp nhận được chứ không nhất quán, nên đỉnh đã lấy ra vẫn có thể
+                    // được mở lại khi tìm thấy g tốt hơn; với ALT (nhất quán) trường hợp này không xảy ra
+                    open.push(v, newG + heuristic.estimate(v));
+                    if (trace) sink.emit(AlgoStep.Type.EXPLORE_EDGE, u, v);
                 }
             }
         }
-        if (found) {
+        if (found && trace) {
             reconstructPath(parent);
         }
-        return steps;
-    }
 
-    private double heuristic(int uId, Vertex targetV) {
-        Vertex u = graph.getVertex(uId);
-        double dx = u.x - targetV.x;
-        double dy = u.y - targetV.y;
-        double pixelDistance = Math.sqrt(dx * dx + dy * dy);
+        result = new ShortestPathResult(start, target, gScore, parent);
+    }
 
-        return pixelDistance / 200.0;
+    @Override
+    public ShortestPathResult getResult() {
+        return result;
     }
 
-    private void reconstructPath(Map<Integer, Integer> parent) {
+    private void reconstructPath(int[] parent) {
         LinkedList<Integer> path = new LinkedList<>();
-        int curr = target;
-
-        while (parent.containsKey(curr) || curr == start) {
+        for (int curr = target; curr != -1; curr = parent[curr]) {
             path.addFirst(curr);
-            if (curr == start) break;
-            curr = parent.get(curr);
         }
 
         int prev = -1;
         for (int u : path) {
-            steps.add(new AlgoStep(AlgoStep.Type.HIGHLIGHT_NODE, u, -1));
+            sink.emit(AlgoStep.Type.HIGHLIGHT_NODE, u, -1);
 
             if (prev != -1) {
-                steps.add(new AlgoStep(AlgoStep.Type.HIGHLIGHT_PATH, prev, u));
+                sink.emit(AlgoStep.Type.HIGHLIGHT_PATH, prev, u);
             }
             prev = u;
         }
     }
-
-    private static class NodeCost {
-        int id;
-        double fCost;
-
-        public NodeCost(int id, double fCost) {
-            this.id = id;
-            this.fCost = fCost;
-        }
-    }
-}
\ No newline at end of file
+}
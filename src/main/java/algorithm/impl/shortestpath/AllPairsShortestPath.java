@@ -0,0 +1,181 @@
+package algorithm.impl.shortestpath;
+
+import algorithm.AlgoStep;
+import algorithm.HeadlessAlgorithm;
+import algorithm.StepSink;
+import algorithm.result.DistanceMatrix;
+import algorithm.util.IndexedMinHeap;
+import algorithm.util.SnapshotCache;
+import model.Graph;
+import model.GraphSnapshot;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.IntStream;
+
+public class AllPairsShortestPath implements HeadlessAlgorithm<DistanceMatrix> {
+    // Ma trận (n + 1)^2 số int: 5000 đỉnh đã khoảng 100 MB, lớn hơn nữa thì không vừa heap mặc định
+    // và cũng không còn đọc được; AlgorithmType ẩn thuật toán này với đồ thị vượt ngưỡng
+    public static final int MAX_VERTICES = 5000;
+
+    private static final int BLOCK = 64;
+    private static final int SOURCES_PER_TASK = 8;
+    // Floyd–Warshall dùng vô cùng = MAX / 2 để cộng hai giá trị không bị tràn số
+    private static final int FW_INF = Integer.MAX_VALUE / 2;
+
+    private static final SnapshotCache<DistanceMatrix> CACHE = new SnapshotCache<>(g -> compute(g, StepSink.NONE));
+
+    private final GraphSnapshot g;
+    private DistanceMatrix result;
+
+    public AllPairsShortestPath(Graph graph) {
+        this(graph.snapshot());
+    }
+
+    public AllPairsShortestPath(GraphSnapshot g) {
+        this.g = g;
+    }
+
+    public static DistanceMatrix of(GraphSnapshot g) {
+        return CACHE.get(g);
+    }
+
+    // Ma trận đã tính cho đúng phiên bản đồ thị này, hoặc null nếu chưa chạy
+    public static DistanceMatrix cached(GraphSnapshot g) {
+        return CACHE.getIfPresent(g);
+    }
+
+    @Override
+    public void run(StepSink sink) {
+        // Lần tính (nếu phải chạy) dừng được qua sink; bị hủy thì không lưu gì vào cache
+        result = CACHE.get(g, s -> compute(s, sink));
+
+        if (sink != StepSink.NONE) {
+            int n = g.vertexCount();
+            sink.emit(AlgoStep.Type.SHOW_RESULT, -1, -1,
+                    "Ma trận khoảng cách " + n + "x" + n
+                            + (isDense(g) ? " (Floyd-Warshall song song)" : " (Dijkstra song song từ mỗi đỉnh)"));
+        }
+    }
+
+    @Override
+    public DistanceMatrix getResult() {
+        return result;
+    }
+
+    // Dijkstra từ mọi đỉnh tốn khoảng n * a * log n, Floyd–Warshall tốn n^3 nhưng vòng trong rất gọn
+    static boolean isDense(GraphSnapshot g) {
+        long n = g.vertexCount();
+        return (long) g.arcCount() * 8 >= n * n;
+    }
+
+    private static DistanceMatrix compute(GraphSnapshot g, StepSink sink) {
+        int n = g.vertexCount();
+        long cells = (long) (n + 1) * (n + 1);
+        if (n > MAX_VERTICES) {
+            throw new IllegalArgumentException("Đồ thị quá lớn cho ma trận khoảng cách: " + n
+                    + " đỉnh (tối đa " + MAX_VERTICES + ", cần " + cells * Integer.BYTES / (1 << 20) + " MB)");
+        }
+        int[] dist = new int[(int) cells];
+        if (isDense(g)) {
+            floydWarshall(g, dist, sink);
+        } else {
+            ForkJoinPool.commonPool().invoke(new SourceTask(g, dist, sink, 1, n + 1));
+        }
+        return new DistanceMatrix(n, dist);
+    }
+
+    @SuppressWarnings("serial")
+    private static final class SourceTask extends RecursiveAction {
+        private final GraphSnapshot g;
+        private final int[] dist;
+        private final StepSink sink;
+        private final int lo;
+        private final int hi;
+
+        SourceTask(GraphSnapshot g, int[] dist, StepSink sink, int lo, int hi) {
+            this.g = g;
+            this.dist = dist;
+            this.sink = sink;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= SOURCES_PER_TASK) {
+                int stride = g.vertexCount() + 1;
+                IndexedMinHeap heap = new IndexedMinHeap(stride);
+                for (int s = lo; s < hi; s++) {
+                    // CancellationException đi qua invoke về luồng gọi, các tác vụ còn lại cũng dừng ở nguồn kế tiếp
+                    sink.checkCancelled();
+                    ShortestPaths.dijkstra(g, s, dist, s * stride, heap);
+                }
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new SourceTask(g, dist, sink, lo, mid), new SourceTask(g, dist, sink, mid, hi));
+        }
+    }
+
+    // Floyd–Warshall chia khối BLOCK x BLOCK: với mỗi khối trục k, xử lý khối chéo,
+    // rồi song song các khối cùng hàng/cột, cuối cùng song song toàn bộ các khối còn lại
+    private static void floydWarshall(GraphSnapshot g, int[] dist, StepSink sink) {
+        int n = g.vertexCount();
+        int stride = n + 1;
+
+        Arrays.fill(dist, FW_INF);
+        for (int u = 1; u <= n; u++) {
+            dist[u * stride + u] = 0;
+            for (int i = g.begin(u), end = g.end(u); i < end; i++) {
+                int idx = u * stride + g.target(i);
+                dist[idx] = Math.min(dist[idx], g.weight(i));
+            }
+        }
+
+        int blocks = (n + BLOCK - 1) / BLOCK;
+        for (int kb = 0; kb < blocks; kb++) {
+            sink.checkCancelled();
+            int k = kb;
+            relaxBlock(dist, n, k, k, k);
+            IntStream.range(0, blocks).parallel().forEach(b -> {
+                if (b == k) return;
+                relaxBlock(dist, n, k, b, k);
+                relaxBlock(dist, n, b, k, k);
+            });
+            // Pha này chiếm gần hết thời gian của mỗi k nên kiểm tra hủy theo từng khối
+            IntStream.range(0, blocks * blocks).parallel().forEach(ij -> {
+                sink.checkCancelled();
+                int ib = ij / blocks;
+                int jb = ij % blocks;
+                if (ib != k && jb != k) relaxBlock(dist, n, ib, jb, k);
+            });
+        }
+
+        for (int i = 0; i < dist.length; i++) {
+            if (dist[i] >= FW_INF) dist[i] = DistanceMatrix.UNREACHABLE;
+        }
+    }
+
+    // Khối b phủ các đỉnh [1 + b * BLOCK, min(n, (b + 1) * BLOCK)]
+    private static void relaxBlock(int[] dist, int n, int ib, int jb, int kb) {
+        int stride = n + 1;
+        int i0 = 1 + ib * BLOCK, i1 = Math.min(n, (ib + 1) * BLOCK);
+        int j0 = 1 + jb * BLOCK, j1 = Math.min(n, (jb + 1) * BLOCK);
+        int k0 = 1 + kb * BLOCK, k1 = Math.min(n, (kb + 1) * BLOCK);
+
+        for (int k = k0; k <= k1; k++) {
+            int kRow = k * stride;
+            for (int i = i0; i <= i1; i++) {
+                int iRow = i * stride;
+                int ik = dist[iRow + k];
+                if (ik >= FW_INF) continue;
+                for (int j = j0; j <= j1; j++) {
+                    int through = ik + dist[kRow + j];
+                    if (through < dist[iRow + j]) dist[iRow + j] = through;
+                }
+            }
+        }
+    }
+}
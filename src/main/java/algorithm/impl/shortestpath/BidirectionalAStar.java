@@ -0,0 +1,25 @@
+package algorithm.impl.shortestpath;
+
+import model.Graph;
+import model.GraphSnapshot;
+
+public class BidirectionalAStar extends BidirectionalDijkstra {
+    private final Heuristic toTarget;
+    private final Heuristic toStart;
+
+    public BidirectionalAStar(Graph graph, int start, int target) {
+        this(graph.snapshot(), start, target, EuclideanHeuristic.coordinatesOf(graph));
+    }
+
+    public BidirectionalAStar(GraphSnapshot g, int start, int target, double[] coords) {
+        super(g, start, target);
+        this.toTarget = new EuclideanHeuristic(coords, target);
+        this.toStart = new EuclideanHeuristic(coords, start);
+    }
+
+    // Thế năng trung bình (h_t - h_s) / 2, cùng thang đo với heuristic của AStar
+    @Override
+    protected double potential(int v) {
+        return (toTarget.estimate(v) - toStart.estimate(v)) / 2;
+    }
+}
@@ -0,0 +1,143 @@
+package algorithm.impl.shortestpath;
+
+import algorithm.AlgoStep;
+import algorithm.HeadlessAlgorithm;
+import algorithm.StepSink;
+import algorithm.result.ShortestPathResult;
+import algorithm.util.IndexedMinHeap;
+import model.Graph;
+import model.GraphSnapshot;
+
+import java.util.Arrays;
+
+public class BidirectionalDijkstra implements HeadlessAlgorithm<ShortestPathResult> {
+    private static final long INF = Long.MAX_VALUE / 4;
+
+    protected final GraphSnapshot g;
+    protected final int start;
+    protected final int target;
+    private ShortestPathResult result;
+
+    public BidirectionalDijkstra(Graph graph, int start, int target) {
+        this(graph.snapshot(), start, target);
+    }
+
+    public BidirectionalDijkstra(GraphSnapshot g, int start, int target) {
+        this.g = g;
+        this.start = start;
+        this.target = target;
+    }
+
+    // Thế năng thuận pF(v); chiều ngược dùng -pF(v) để hai phía cùng một hàm trọng số rút gọn
+    protected double potential(int v) {
+        return 0;
+    }
+
+    @Override
+    public void run(StepSink sink) {
+        boolean trace = sink != StepSink.NONE;
+        int n = g.vertexCount();
+        GraphSnapshot rev = g.reverse();
+
+        long[] distF = new long[n + 1];
+        long[] distB = new long[n + 1];
+        int[] parentF = new int[n + 1];
+        int[] parentB = new int[n + 1];
+        Arrays.fill(distF, INF);
+        Arrays.fill(distB, INF);
+        Arrays.fill(parentF, -1);
+        Arrays.fill(parentB, -1);
+
+        IndexedMinHeap forward = new IndexedMinHeap(n + 1);
+        IndexedMinHeap backward = new IndexedMinHeap(n + 1);
+
+        distF[start] = 0;
+        distB[target] = 0;
+        forward.insert(start, potential(start));
+        backward.insert(target, -potential(target));
+
+        long best = start == target ? 0 : INF;
+        int meet = start == target ? start : -1;
+
+        while (!forward.isEmpty() && !backward.isEmpty()) {
+            sink.checkCancelled();
+            // Điều kiện dừng: tổng hai khóa nhỏ nhất >= đường đi tốt nhất đã gặp
+            if (forward.peekKey() + backward.peekKey() >= best) break;
+
+            if (forward.peekKey() <= backward.peekKey()) {
+                int u = forward.poll();
+                if (trace) sink.emit(AlgoStep.Type.VISIT_VERTEX, u, parentF[u]);
+
+                for (int i = g.begin(u), end = g.end(u); i < end; i++) {
+                    int v = g.target(i);
+                    long nd = distF[u] + g.weight(i);
+                    if (trace) sink.emit(AlgoStep.Type.EXPLORE_EDGE, u, v);
+
+                    if (nd < distF[v]) {
+                        distF[v] = nd;
+                        parentF[v] = u;
+                        forward.push(v, nd + potential(v));
+                    }
+                    if (distB[v] != INF && nd + distB[v] < best) {
+                        best = nd + distB[v];
+                        meet = v;
+                    }
+                }
+            } else {
+                int u = backward.poll();
+                if (trace) sink.emit(AlgoStep.Type.VISIT_VERTEX_BACKWARD, u, parentB[u]);
+
+                for (int i = rev.begin(u), end = rev.end(u); i < end; i++) {
+                    int v = rev.target(i);
+                    long nd = distB[u] + rev.weight(i);
+                    if (trace) sink.emit(AlgoStep.Type.EXPLORE_EDGE_BACKWARD, v, u);
+
+                    if (nd < distB[v]) {
+                        distB[v] = nd;
+                        parentB[v] = u;
+                        backward.push(v, nd - potential(v));
+                    }
+                    if (distF[v] != INF && nd + distF[v] < best) {
+                        best = nd + distF[v];
+                        meet = v;
+                    }
+                }
+            }
+        }
+
+        int[] dist = new int[n + 1];
+        int[] parent = new int[n + 1];
+        Arrays.fill(dist, ShortestPathResult.UNREACHABLE);
+        for (int v = 1; v <= n; v++) {
+            if (distF[v] != INF) dist[v] = (int) distF[v];
+            parent[v] = parentF[v];
+        }
+        parent[0] = -1;
+
+        if (meet != -1) {
+            // Nối nửa đường đi của phía ngược vào cây cha của phía thuận
+            for (int v = meet; v != target; v = parentB[v]) {
+                int next = parentB[v];
+                parent[next] = v;
+                dist[next] = (int) (best - distB[next]);
+            }
+            dist[meet] = (int) (best - distB[meet]);
+        }
+
+        result = new ShortestPathResult(start, target, dist, parent);
+
+        if (meet != -1 && trace) {
+            int[] path = result.path();
+            sink.emit(AlgoStep.Type.HIGHLIGHT_NODE, path[0], -1);
+            for (int i = 0; i + 1 < path.length; i++) {
+                sink.emit(AlgoStep.Type.HIGHLIGHT_PATH, path[i], path[i + 1]);
+                sink.emit(AlgoStep.Type.HIGHLIGHT_NODE, path[i + 1], -1);
+            }
+        }
+    }
+
+    @Override
+    public ShortestPathResult getResult() {
+        return result;
+    }
+}
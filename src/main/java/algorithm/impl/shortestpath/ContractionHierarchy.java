@@ -0,0 +1,595 @@
+package algorithm.impl.shortestpath;
+
+import algorithm.AlgoStep;
+import algorithm.StepSink;
+import algorithm.result.ShortestPathResult;
+import algorithm.util.IndexedMinHeap;
+import algorithm.util.SnapshotCache;
+import model.GraphSnapshot;
+
+import java.util.Arrays;
+
+// Tiền xử lý Contraction Hierarchies: co lần lượt các đỉnh theo thứ tự quan trọng tăng dần,
+// thêm cạnh tắt (shortcut) khi không tìm được đường đi chứng kiến (witness) ngắn hơn.
+// Trên đồ thị không giống mạng đường (ngẫu nhiên, mạng xã hội) bậc của phần còn lại tăng rất nhanh và chi phí
+// co mỗi đỉnh tăng theo khoảng bậc^3, nên dừng co khi đỉnh kế tiếp có bậc vượt MAX_CORE_DEGREE hoặc số cạnh tắt
+// vượt SHORTCUT_FACTOR lần số cung gốc. Các đỉnh còn lại thành lõi: xếp hạng cao nhất, giữ mọi cung giữa chúng,
+// và truy vấn chạy Dijkstra hai chiều không giới hạn hướng trên lõi (đồ thị lõi không co thì truy vấn giống hệt
+// Dijkstra hai chiều)
+public final class ContractionHierarchy {
+    private static final int INF = Integer.MAX_VALUE;
+    private static final int SIMULATE_SETTLE_LIMIT = 25;
+    private static final int CONTRACT_SETTLE_LIMIT = 200;
+    private static final int MAX_CORE_DEGREE = 32;
+    private static final int SHORTCUT_FACTOR = 1;
+
+    private static final SnapshotCache<ContractionHierarchy> CACHE = new SnapshotCache<>(ContractionHierarchy::new);
+
+    private final int n;
+    private final int[] rank;
+    private int coreSize;
+
+    // Bảng cung: cạnh gốc có first = second = -1, cạnh tắt ghép hai cung first (u -> v) và second (v -> w)
+    private int arcCount;
+    private int[] arcFrom;
+    private int[] arcTo;
+    private int[] arcWeight;
+    private int[] arcFirst;
+    private int[] arcSecond;
+
+    // Đồ thị đi lên dạng CSR: up[u] chứa cung u -> x, down[u] chứa cung x -> u, với rank[x] > rank[u];
+    // riêng đỉnh lõi thì up/down chứa mọi cung ra/vào giữa các đỉnh lõi
+    private final int[] upOffsets;
+    private final int[] upTargets;
+    private final int[] upWeights;
+    private final int[] upArcs;
+    private final int[] downOffsets;
+    private final int[] downTargets;
+    private final int[] downWeights;
+    private final int[] downArcs;
+
+    // Trạng thái chỉ dùng trong lúc co đỉnh
+    private int[][] out;
+    private int[][] in;
+    private int[] outSize;
+    private int[] inSize;
+    private int[] witnessDist;
+    private int[] touched;
+    private int[] targetStamp;
+    private int stamp;
+    private int touchedSize;
+    private IndexedMinHeap witnessHeap;
+
+    public ContractionHierarchy(GraphSnapshot g) {
+        this(g, StepSink.NONE);
+    }
+
+    // sink chỉ dùng để kiểm tra hủy, tiền xử lý không phát bước nào
+    public ContractionHierarchy(GraphSnapshot g, StepSink sink) {
+        this.n = g.vertexCount();
+        this.rank = new int[n + 1];
+
+        int capacity = Math.max(16, 2 * g.arcCount());
+        arcFrom = new int[capacity];
+        arcTo = new int[capacity];
+        arcWeight = new int[capacity];
+        arcFirst = new int[capacity];
+        arcSecond = new int[capacity];
+
+        out = new int[n + 1][];
+        in = new int[n + 1][];
+        outSize = new int[n + 1];
+        inSize = new int[n + 1];
+        for (int u = 0; u <= n; u++) {
+            out[u] = new int[4];
+            in[u] = new int[4];
+        }
+        for (int u = 1; u <= n; u++) {
+            for (int i = g.begin(u), end = g.end(u); i < end; i++) {
+                int v = g.target(i);
+                if (v != u) addArc(u, v, g.weight(i), -1, -1);
+            }
+        }
+
+        witnessDist = new int[n + 1];
+        Arrays.fill(witnessDist, INF);
+        touched = new int[n + 1];
+        targetStamp = new int[n + 1];
+        witnessHeap = new IndexedMinHeap(n + 1);
+
+        int[][] up = new int[n + 1][];
+        int[][] down = new int[n + 1][];
+        contractAll(up, down, sink);
+
+        upOffsets = new int[n + 2];
+        downOffsets = new int[n + 2];
+        for (int u = 1; u <= n; u++) {
+            upOffsets[u + 1] = upOffsets[u] + up[u].length;
+            downOffsets[u + 1] = downOffsets[u] + down[u].length;
+        }
+        upTargets = new int[upOffsets[n + 1]];
+        upWeights = new int[upTargets.length];
+        upArcs = new int[upTargets.length];
+        downTargets = new int[downOffsets[n + 1]];
+        downWeights = new int[downTargets.length];
+        downArcs = new int[downTargets.length];
+        for (int u = 1; u <= n; u++) {
+            int k = upOffsets[u];
+            for (int a : up[u]) {
+                upTargets[k] = arcTo[a];
+                upWeights[k] = arcWeight[a];
+                upArcs[k++] = a;
+            }
+            k = downOffsets[u];
+            for (int a : down[u]) {
+                downTargets[k] = arcFrom[a];
+                downWeights[k] = arcWeight[a];
+                downArcs[k++] = a;
+            }
+        }
+
+        arcFrom = Arrays.copyOf(arcFrom, arcCount);
+        arcTo = Arrays.copyOf(arcTo, arcCount);
+        arcWeight = Arrays.copyOf(arcWeight, arcCount);
+        arcFirst = Arrays.copyOf(arcFirst, arcCount);
+        arcSecond = Arrays.copyOf(arcSecond, arcCount);
+        out = null;
+        in = null;
+        outSize = null;
+        inSize = null;
+        witnessDist = null;
+        touched = null;
+        targetStamp = null;
+        witnessHeap = null;
+    }
+
+    public static ContractionHierarchy of(GraphSnapshot g) {
+        return CACHE.get(g);
+    }
+
+    // Như of(g) nhưng lần tiền xử lý (nếu phải chạy) dừng được qua sink; bị hủy thì không lưu gì vào cache
+    public static ContractionHierarchy of(GraphSnapshot g, StepSink sink) {
+        return CACHE.get(g, s -> new ContractionHierarchy(s, sink));
+    }
+
+    public int vertexCount() {
+        return n;
+    }
+
+    public int shortcutCount() {
+        int originals = 0;
+        for (int a = 0; a < arcCount; a++) {
+            if (arcFirst[a] == -1) originals++;
+        }
+        return arcCount - originals;
+    }
+
+    public int rank(int v) {
+        return rank[v];
+    }
+
+    // Số đỉnh không được co (0 nếu co hết)
+    public int coreSize() {
+        return coreSize;
+    }
+
+    public Query newQuery() {
+        return new Query();
+    }
+
+    private void contractAll(int[][] up, int[][] down, StepSink sink) {
+        int[] deletedNeighbours = new int[n + 1];
+        int[] depth = new int[n + 1];
+        int[] updated = new int[n + 1];
+        IndexedMinHeap order = new IndexedMinHeap(n + 1);
+        long shortcutBudget = (long) SHORTCUT_FACTOR * Math.max(arcCount, n);
+        int originalArcs = arcCount;
+        for (int v = 1; v <= n; v++) {
+            if ((v & 1023) == 0) sink.checkCancelled();
+            order.insert(v, priority(v, deletedNeighbours, depth));
+        }
+
+        int level = 0;
+        while (!order.isEmpty()) {
+            sink.checkCancelled();
+            int v = order.poll();
+
+            // Cập nhật lười: nếu độ ưu tiên thực tế đã tăng thì đưa lại vào hàng đợi
+            double p = priority(v, deletedNeighbours, depth);
+            if (!order.isEmpty() && p > order.peekKey()) {
+                order.insert(v, p);
+                continue;
+            }
+            if (inSize[v] + outSize[v] > MAX_CORE_DEGREE || arcCount - originalArcs > shortcutBudget) {
+                order.insert(v, p);
+                break;
+            }
+
+            contract(v, CONTRACT_SETTLE_LIMIT, true);
+            rank[v] = level++;
+            up[v] = Arrays.copyOf(out[v], outSize[v]);
+            down[v] = Arrays.copyOf(in[v], inSize[v]);
+
+            for (int a : up[v]) {
+                int w = arcTo[a];
+                remove(in, inSize, w, a);
+                deletedNeighbours[w]++;
+                depth[w] = Math.max(depth[w], depth[v] + 1);
+            }
+            for (int a : down[v]) {
+                int u = arcFrom[a];
+                remove(out, outSize, u, a);
+                deletedNeighbours[u]++;
+                depth[u] = Math.max(depth[u], depth[v] + 1);
+            }
+            // Láng giềng vừa là đích vừa là nguồn (đồ thị vô hướng) chỉ cần tính lại một lần
+            for (int a : up[v]) {
+                int w = arcTo[a];
+                if (updated[w] != level) {
+                    updated[w] = level;
+                    order.push(w, priority(w, deletedNeighbours, depth));
+                }
+            }
+            for (int a : down[v]) {
+                int u = arcFrom[a];
+                if (updated[u] != level) {
+                    updated[u] = level;
+                    order.push(u, priority(u, deletedNeighbours, depth));
+                }
+            }
+            out[v] = null;
+            in[v] = null;
+        }
+
+        // Lõi: cung giữa các đỉnh lõi giữ nguyên cả hai hướng, cung tới đỉnh đã co đã bị gỡ khi co đỉnh đó
+        coreSize = order.size();
+        while (!order.isEmpty()) {
+            int v = order.poll();
+            rank[v] = level++;
+            up[v] = Arrays.copyOf(out[v], outSize[v]);
+            down[v] = Arrays.copyOf(in[v], inSize[v]);
+        }
+    }
+
+    // Hiệu số cạnh (số cạnh tắt - số cạnh bị xóa), số láng giềng đã bị co và độ sâu trong cây phân cấp;
+    // hai số hạng sau giúp các đỉnh bị co rải đều trên đồ thị
+    private double priority(int v, int[] deletedNeighbours, int[] depth) {
+        int shortcuts = contract(v, SIMULATE_SETTLE_LIMIT, false);
+        return 2.0 * (shortcuts - outSize[v] - inSize[v]) + deletedNeighbours[v] + depth[v];
+    }
+
+    // Trả về số cạnh tắt cần thêm khi co v; chỉ thực sự thêm khi apply = true
+    private int contract(int v, int settleLimit, boolean apply) {
+        int shortcuts = 0;
+        for (int i = 0; i < inSize[v]; i++) {
+            int in1 = in[v][i];
+            int u = arcFrom[in1];
+            int wu = arcWeight[in1];
+
+            // Đánh dấu các đích cần kiểm tra để dừng tìm kiếm sớm khi đã chốt hết
+            stamp++;
+            int targets = 0;
+            int bound = 0;
+            for (int j = 0; j < outSize[v]; j++) {
+                int out1 = out[v][j];
+                int w = arcTo[out1];
+                if (w == u) continue;
+                bound = Math.max(bound, wu + arcWeight[out1]);
+                if (targetStamp[w] != stamp) {
+                    targetStamp[w] = stamp;
+                    targets++;
+                }
+            }
+            if (targets == 0) continue;
+
+            witnessSearch(u, v, bound, settleLimit, targets);
+
+            for (int j = 0; j < outSize[v]; j++) {
+                int out1 = out[v][j];
+                int w = arcTo[out1];
+                if (w == u) continue;
+
+                int candidate = wu + arcWeight[out1];
+                if (witnessDist[w] <= candidate) continue;
+
+                shortcuts++;
+                if (apply) {
+                    dropDominated(u, w, candidate);
+                    addArc(u, w, candidate, in1, out1);
+                    // Cạnh tắt mới cũng là đường chứng kiến cho các cạnh song song phía sau
+                    if (witnessDist[w] == INF) touched[touchedSize++] = w;
+                    witnessDist[w] = candidate;
+                }
+            }
+            resetWitness();
+        }
+        return shortcuts;
+    }
+
+    private void witnessSearch(int source, int skip, int bound, int settleLimit, int targets) {
+        witnessDist[source] = 0;
+        touched[touchedSize++] = source;
+        witnessHeap.insert(source, 0);
+
+        int settled = 0;
+        while (!witnessHeap.isEmpty() && settled < settleLimit) {
+            int x = witnessHeap.poll();
+            int dx = witnessDist[x];
+            if (dx > bound) break;
+            if (targetStamp[x] == stamp && --targets == 0) break;
+            settled++;
+
+            for (int j = 0; j < outSize[x]; j++) {
+                int a = out[x][j];
+                int y = arcTo[a];
+                if (y == skip) continue;
+
+                int nd = dx + arcWeight[a];
+                if (nd < witnessDist[y]) {
+                    if (witnessDist[y] == INF) touched[touchedSize++] = y;
+                    witnessDist[y] = nd;
+                    witnessHeap.push(y, nd);
+                }
+            }
+        }
+        witnessHeap.clear();
+    }
+
+    private void resetWitness() {
+        for (int i = 0; i < touchedSize; i++) witnessDist[touched[i]] = INF;
+        touchedSize = 0;
+    }
+
+    private void dropDominated(int u, int w, int weight) {
+        for (int j = outSize[u] - 1; j >= 0; j--) {
+            int a = out[u][j];
+            if (arcTo[a] == w && arcWeight[a] >= weight) {
+                remove(out, outSize, u, a);
+                remove(in, inSize, w, a);
+            }
+        }
+    }
+
+    private void addArc(int u, int v, int weight, int first, int second) {
+        if (arcCount == arcFrom.length) {
+            int capacity = arcCount * 2;
+            arcFrom = Arrays.copyOf(arcFrom, capacity);
+            arcTo = Arrays.copyOf(arcTo, capacity);
+            arcWeight = Arrays.copyOf(arcWeight, capacity);
+            arcFirst = Arrays.copyOf(arcFirst, capacity);
+            arcSecond = Arrays.copyOf(arcSecond, capacity);
+        }
+        int a = arcCount++;
+        arcFrom[a] = u;
+        arcTo[a] = v;
+        arcWeight[a] = weight;
+        arcFirst[a] = first;
+        arcSecond[a] = second;
+        append(out, outSize, u, a);
+        append(in, inSize, v, a);
+    }
+
+    private static void append(int[][] lists, int[] sizes, int u, int a) {
+        if (sizes[u] == lists[u].length) lists[u] = Arrays.copyOf(lists[u], sizes[u] * 2);
+        lists[u][sizes[u]++] = a;
+    }
+
+    private static void remove(int[][] lists, int[] sizes, int u, int a) {
+        int[] list = lists[u];
+        for (int j = 0; j < sizes[u]; j++) {
+            if (list[j] == a) {
+                list[j] = list[--sizes[u]];
+                return;
+            }
+        }
+    }
+
+    // Truy vấn hai chiều chỉ đi lên; tái sử dụng được nhiều lần nhưng không an toàn đa luồng
+    public final class Query {
+        private final int[] distF = new int[n + 1];
+        private final int[] distB = new int[n + 1];
+        private final int[] parentArcF = new int[n + 1];
+        private final int[] parentArcB = new int[n + 1];
+        private final int[] touchedF = new int[n + 1];
+        private final int[] touchedB = new int[n + 1];
+        private final int[] position = new int[n + 1];
+        private final IndexedMinHeap forward = new IndexedMinHeap(n + 1);
+        private final IndexedMinHeap backward = new IndexedMinHeap(n + 1);
+        private int touchedFSize;
+        private int touchedBSize;
+
+        private int source = -1;
+        private int target = -1;
+        private int best = INF;
+        private int meet = -1;
+
+        private Query() {
+            Arrays.fill(distF, INF);
+            Arrays.fill(distB, INF);
+            Arrays.fill(position, -1);
+        }
+
+        public int distance(int s, int t) {
+            return distance(s, t, StepSink.NONE);
+        }
+
+        public int distance(int s, int t, StepSink sink) {
+            boolean trace = sink != StepSink.NONE;
+            reset();
+            source = s;
+            target = t;
+
+            distF[s] = 0;
+            parentArcF[s] = -1;
+            touchedF[touchedFSize++] = s;
+            forward.insert(s, 0);
+            distB[t] = 0;
+            parentArcB[t] = -1;
+            touchedB[touchedBSize++] = t;
+            backward.insert(t, 0);
+
+            // Mỗi phía dừng khi khóa nhỏ nhất của nó không còn nhỏ hơn đường đi tốt nhất
+            while (true) {
+                sink.checkCancelled();
+                boolean f = !forward.isEmpty() && forward.peekKey() < best;
+                boolean b = !backward.isEmpty() && backward.peekKey() < best;
+                if (!f && !b) break;
+
+                if (f && (!b || forward.peekKey() <= backward.peekKey())) {
+                    int u = forward.poll();
+                    if (trace) sink.emit(AlgoStep.Type.VISIT_VERTEX, u, -1);
+                    settle(u, distF[u], distB[u]);
+                    if (!stalled(u, downOffsets, downTargets, downWeights, distF)) {
+                        relax(u, upOffsets, upTargets, upWeights, upArcs, distF, parentArcF, touchedF, true, forward);
+                    }
+                } else {
+                    int u = backward.poll();
+                    if (trace) sink.emit(AlgoStep.Type.VISIT_VERTEX_BACKWARD, u, -1);
+                    settle(u, distB[u], distF[u]);
+                    if (!stalled(u, upOffsets, upTargets, upWeights, distB)) {
+                        relax(u, downOffsets, downTargets, downWeights, downArcs, distB, parentArcB, touchedB, false, backward);
+                    }
+                }
+            }
+            return best;
+        }
+
+        private void settle(int u, int d, int other) {
+            if (other != INF && d + other < best) {
+                best = d + other;
+                meet = u;
+            }
+        }
+
+        // Stall-on-demand: nếu có đỉnh cao hơn đi xuống tới u rẻ hơn thì dist[u] chưa phải khoảng cách thật,
+        // không cần mở rộng tiếp từ u
+        private boolean stalled(int u, int[] offsets, int[] targets, int[] weights, int[] dist) {
+            int du = dist[u];
+            for (int i = offsets[u], end = offsets[u + 1]; i < end; i++) {
+                int dx = dist[targets[i]];
+                if (dx != INF && dx + weights[i] < du) return true;
+            }
+            return false;
+        }
+
+        private void relax(int u, int[] offsets, int[] targets, int[] weights, int[] arcs,
+                           int[] dist, int[] parentArc, int[] touchedList, boolean isForward,
+                           IndexedMinHeap heap) {
+            int du = dist[u];
+            for (int i = offsets[u], end = offsets[u + 1]; i < end; i++) {
+                int x = targets[i];
+                int nd = du + weights[i];
+                if (nd < dist[x]) {
+                    if (dist[x] == INF) {
+                        if (isForward) touchedList[touchedFSize++] = x;
+                        else touchedList[touchedBSize++] = x;
+                    }
+                    dist[x] = nd;
+                    parentArc[x] = arcs[i];
+                    heap.push(x, nd);
+                }
+            }
+        }
+
+        private void reset() {
+            for (int i = 0; i < touchedFSize; i++) distF[touchedF[i]] = INF;
+            for (int i = 0; i < touchedBSize; i++) distB[touchedB[i]] = INF;
+            touchedFSize = 0;
+            touchedBSize = 0;
+            forward.clear();
+            backward.clear();
+            best = INF;
+            meet = -1;
+        }
+
+        // Đường đi của truy vấn gần nhất, đã bung hết cạnh tắt thành cạnh gốc
+        public int[] path() {
+            int[] arcs = unpackedArcs();
+            if (meet == -1) return new int[0];
+
+            int[] path = new int[arcs.length + 1];
+            path[0] = source;
+            for (int i = 0; i < arcs.length; i++) path[i + 1] = arcTo[arcs[i]];
+            return path;
+        }
+
+        public ShortestPathResult result() {
+            int[] dist = new int[n + 1];
+            int[] parent = new int[n + 1];
+            Arrays.fill(dist, ShortestPathResult.UNREACHABLE);
+            Arrays.fill(parent, -1);
+
+            if (meet != -1) {
+                dist[source] = 0;
+                for (int a : unpackedArcs()) {
+                    int u = arcFrom[a];
+                    int v = arcTo[a];
+                    dist[v] = dist[u] + arcWeight[a];
+                    parent[v] = u;
+                }
+            }
+            return new ShortestPathResult(source, target, dist, parent);
+        }
+
+        private int[] unpackedArcs() {
+            if (meet == -1) return new int[0];
+
+            int[] chain = new int[16];
+            int count = 0;
+            for (int v = meet; parentArcF[v] != -1; v = arcFrom[parentArcF[v]]) {
+                if (count == chain.length) chain = Arrays.copyOf(chain, count * 2);
+                chain[count++] = parentArcF[v];
+            }
+            for (int i = 0, j = count - 1; i < j; i++, j--) {
+                int tmp = chain[i];
+                chain[i] = chain[j];
+                chain[j] = tmp;
+            }
+            for (int v = meet; parentArcB[v] != -1; v = arcTo[parentArcB[v]]) {
+                if (count == chain.length) chain = Arrays.copyOf(chain, count * 2);
+                chain[count++] = parentArcB[v];
+            }
+
+            int[] arcs = new int[Math.max(16, count)];
+            int len = 0;
+            int[] stack = new int[16];
+            for (int i = 0; i < count; i++) {
+                int top = 0;
+                stack[top++] = chain[i];
+                while (top > 0) {
+                    int a = stack[--top];
+                    if (arcFirst[a] == -1) {
+                        if (len == arcs.length) arcs = Arrays.copyOf(arcs, len * 2);
+                        arcs[len++] = a;
+                    } else {
+                        if (top + 2 > stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+                        stack[top++] = arcSecond[a];
+                        stack[top++] = arcFirst[a];
+                    }
+                }
+            }
+            return removeZeroCycles(arcs, len);
+        }
+
+        // Khi có cạnh trọng số 0, đường đã bung có thể đi qua một đỉnh hai lần; bỏ vòng (tổng trọng số 0) đó
+        private int[] removeZeroCycles(int[] arcs, int len) {
+            position[source] = 0;
+            int kept = 0;
+            for (int i = 0; i < len; i++) {
+                int v = arcTo[arcs[i]];
+                if (position[v] >= 0) {
+                    int cut = position[v];
+                    for (int j = cut; j < kept; j++) position[arcTo[arcs[j]]] = -1;
+                    kept = cut;
+                } else {
+                    arcs[kept++] = arcs[i];
+                    position[v] = kept;
+                }
+            }
+
+            position[source] = -1;
+            for (int j = 0; j < kept; j++) position[arcTo[arcs[j]]] = -1;
+            return Arrays.copyOf(arcs, kept);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package algorithm.impl.shortestpath;
+
+import algorithm.AlgoStep;
+import algorithm.HeadlessAlgorithm;
+import algorithm.StepSink;
+import algorithm.result.ShortestPathResult;
+import model.Graph;
+import model.GraphSnapshot;
+
+public class ContractionHierarchySearch implements HeadlessAlgorithm<ShortestPathResult> {
+
+    private final GraphSnapshot g;
+    private final int start;
+    private final int target;
+    private ShortestPathResult result;
+
+    public ContractionHierarchySearch(Graph graph, int start, int target) {
+        this(graph.snapshot(), start, target);
+    }
+
+    public ContractionHierarchySearch(GraphSnapshot g, int start, int target) {
+        this.g = g;
+        this.start = start;
+        this.target = target;
+    }
+
+    @Override
+    public void run(StepSink sink) {
+        boolean trace = sink != StepSink.NONE;
+
+        // Lần chạy đầu trên mỗi phiên bản đồ thị sẽ tiền xử lý, các lần sau dùng lại
+        ContractionHierarchy.Query query = ContractionHierarchy.of(g, sink).newQuery();
+        query.distance(start, target, sink);
+        result = query.result();
+
+        if (trace && result.isReachable(target)) {
+            int[] path = result.path();
+            sink.emit(AlgoStep.Type.HIGHLIGHT_NODE, path[0], -1);
+            for (int i = 0; i + 1 < path.length; i++) {
+                sink.emit(AlgoStep.Type.HIGHLIGHT_PATH, path[i], path[i + 1]);
+                sink.emit(AlgoStep.Type.HIGHLIGHT_NODE, path[i + 1], -1);
+            }
+        }
+    }
+
+    @Override
+    public ShortestPathResult getResult() {
+        return result;
+    }
+}
@@ -0,0 +1,217 @@
+package algorithm.impl.shortestpath;
+
+import algorithm.AlgoStep;
+import algorithm.HeadlessAlgorithm;
+import algorithm.StepSink;
+import algorithm.result.ShortestPathResult;
+import model.Graph;
+import model.GraphSnapshot;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+// Delta-stepping (Meyer & Sanders): các đỉnh được gom vào bucket theo dist / delta,
+// mỗi bucket nới lỏng cạnh nhẹ (w <= delta) song song cho tới khi rỗng, rồi nới lỏng cạnh nặng một lần
+public class DeltaStepping implements HeadlessAlgorithm<ShortestPathResult> {
+    private static final int INF = Integer.MAX_VALUE;
+    // Số đỉnh tối thiểu cho mỗi tác vụ song song trên common ForkJoinPool
+    private static final int GRAIN = 256;
+
+    private final GraphSnapshot g;
+    private final int start;
+    private final int target;
+    private final int delta;
+    private ShortestPathResult result;
+
+    // (dist << 32) | parent trong một ô để CAS cập nhật cả hai cùng lúc
+    private AtomicLongArray state;
+    private int[][] buckets;
+    private int[] bucketSizes;
+
+    public DeltaStepping(Graph graph, int start, int target) {
+        this(graph.snapshot(), start, target, defaultDelta(graph.snapshot()));
+    }
+
+    public DeltaStepping(GraphSnapshot g, int start, int target, int delta) {
+        if (delta <= 0) throw new IllegalArgumentException("delta phải dương: " + delta);
+        this.g = g;
+        this.start = start;
+        this.target = target;
+        this.delta = delta;
+    }
+
+    // Trọng số lớn nhất chia cho bậc trung bình: mỗi bucket vừa đủ việc mà ít phải nới lỏng lại
+    public static int defaultDelta(GraphSnapshot g) {
+        int maxWeight = 1;
+        for (int i = 0, a = g.arcCount(); i < a; i++) maxWeight = Math.max(maxWeight, g.weight(i));
+        int avgDegree = Math.max(1, g.arcCount() / Math.max(1, g.vertexCount()));
+        return Math.max(1, maxWeight / avgDegree);
+    }
+
+    @Override
+    public void run(StepSink sink) {
+        boolean trace = sink != StepSink.NONE;
+        int n = g.vertexCount();
+
+        state = new AtomicLongArray(n + 1);
+        for (int v = 0; v <= n; v++) state.set(v, pack(INF, -1));
+        state.set(start, pack(0, -1));
+
+        int maxWeight = 0;
+        for (int i = 0, a = g.arcCount(); i < a; i++) maxWeight = Math.max(maxWeight, g.weight(i));
+        // Mọi khoảng cách tạm thời nằm trong [i * delta, i * delta + maxWeight] nên dùng vòng bucket là đủ
+        int ring = maxWeight / delta + 2;
+        buckets = new int[ring][];
+        bucketSizes = new int[ring];
+        for (int b = 0; b < ring; b++) buckets[b] = new int[16];
+        addToBucket(start, 0);
+        int pending = 1;
+
+        int[] settledStamp = new int[n + 1];
+        int[] frontierStamp = new int[n + 1];
+        int frontierRound = 0;
+        int[] settled = new int[16];
+
+        int index = 0;
+        while (pending > 0) {
+            sink.checkCancelled();
+            // Tìm bucket khác rỗng tiếp theo
+            while (bucketSizes[index % ring] == 0) index++;
+            int slot = index % ring;
+            int phase = index + 1;
+            int settledCount = 0;
+
+            while (bucketSizes[slot] > 0) {
+                int[] raw = buckets[slot];
+                int rawSize = bucketSizes[slot];
+                pending -= rawSize;
+                buckets[slot] = new int[16];
+                bucketSizes[slot] = 0;
+
+                // Bỏ bản sao và các đỉnh đã chuyển sang bucket nhỏ hơn
+                frontierRound++;
+                int size = 0;
+                for (int i = 0; i < rawSize; i++) {
+                    int v = raw[i];
+                    if (frontierStamp[v] == frontierRound || dist(v) / delta != index) continue;
+                    frontierStamp[v] = frontierRound;
+                    raw[size++] = v;
+                    if (settledStamp[v] != phase) {
+                        settledStamp[v] = phase;
+                        if (settledCount == settled.length) settled = Arrays.copyOf(settled, settledCount * 2);
+                        settled[settledCount++] = v;
+                    }
+                }
+
+                pending += relaxAll(raw, size, true);
+            }
+
+            if (settledCount > 0) {
+                pending += relaxAll(settled, settledCount, false);
+                if (trace) sink.emit(AlgoStep.Type.VISIT_BATCH, index, -1, join(settled, settledCount));
+            }
+            index++;
+        }
+
+        int[] dist = new int[n + 1];
+        int[] parent = new int[n + 1];
+        for (int v = 0; v <= n; v++) {
+            long s = state.get(v);
+            dist[v] = (int) (s >>> 32);
+            parent[v] = (int) s;
+        }
+        result = new ShortestPathResult(start, target, dist, parent);
+        state = null;
+        buckets = null;
+
+        if (trace && target >= 0 && result.isReachable(target)) {
+            int[] path = result.path();
+            sink.emit(AlgoStep.Type.HIGHLIGHT_NODE, path[0], -1);
+            for (int i = 0; i + 1 < path.length; i++) {
+                sink.emit(AlgoStep.Type.HIGHLIGHT_PATH, path[i], path[i + 1]);
+                sink.emit(AlgoStep.Type.HIGHLIGHT_NODE, path[i + 1], -1);
+            }
+        }
+    }
+
+    @Override
+    public ShortestPathResult getResult() {
+        return result;
+    }
+
+    // Nới lỏng song song cạnh nhẹ hoặc nặng của các đỉnh cho trước, trả về số đỉnh được thêm vào bucket
+    private int relaxAll(int[] vertices, int size, boolean light) {
+        int tasks = (size + GRAIN - 1) / GRAIN;
+        int[][] improved = new int[tasks][];
+        if (tasks == 1) {
+            improved[0] = relax(vertices, 0, size, light);
+        } else {
+            IntStream.range(0, tasks).parallel().forEach(t ->
+                    improved[t] = relax(vertices, t * GRAIN, Math.min(size, (t + 1) * GRAIN), light));
+        }
+
+        int added = 0;
+        for (int[] list : improved) {
+            for (int i = 1; i <= list[0]; i++) {
+                int v = list[i];
+                addToBucket(v, dist(v) / delta);
+                added++;
+            }
+        }
+        return added;
+    }
+
+    // Kết quả: phần tử 0 là số lượng, tiếp theo là các đỉnh vừa giảm khoảng cách
+    private int[] relax(int[] vertices, int from, int to, boolean light) {
+        int[] out = new int[17];
+        int count = 0;
+        for (int k = from; k < to; k++) {
+            int u = vertices[k];
+            int du = dist(u);
+            for (int i = g.begin(u), end = g.end(u); i < end; i++) {
+                int w = g.weight(i);
+                if ((w <= delta) != light) continue;
+
+                int v = g.target(i);
+                int nd = du + w;
+                while (true) {
+                    long cur = state.get(v);
+                    if (nd >= (int) (cur >>> 32)) break;
+                    if (state.compareAndSet(v, cur, pack(nd, u))) {
+                        if (count + 1 == out.length) out = Arrays.copyOf(out, out.length * 2);
+                        out[++count] = v;
+                        break;
+                    }
+                }
+            }
+        }
+        out[0] = count;
+        return out;
+    }
+
+    private void addToBucket(int v, int bucket) {
+        int slot = bucket % buckets.length;
+        if (bucketSizes[slot] == buckets[slot].length) {
+            buckets[slot] = Arrays.copyOf(buckets[slot], bucketSizes[slot] * 2);
+        }
+        buckets[slot][bucketSizes[slot]++] = v;
+    }
+
+    private int dist(int v) {
+        return (int) (state.get(v) >>> 32);
+    }
+
+    private static long pack(int dist, int parent) {
+        return ((long) dist << 32) | (parent & 0xFFFFFFFFL);
+    }
+
+    private static String join(int[] vertices, int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) sb.append(' ');
+            sb.append(vertices[i]);
+        }
+        return sb.toString();
+    }
+}
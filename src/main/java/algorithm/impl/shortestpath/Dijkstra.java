@@ -1,29 +1,37 @@
 package algorithm.impl.shortestpath;
 
 import algorithm.AlgoStep;
-import algorithm.GraphAlgorithm;
-import model.Edge;
+import algorithm.HeadlessAlgorithm;
+import algorithm.StepSink;
+import algorithm.result.ShortestPathResult;
+import algorithm.util.IndexedMinHeap;
 import model.Graph;
+import model.GraphSnapshot;
 import java.util.*;
 
-public class Dijkstra implements GraphAlgorithm {
+public class Dijkstra implements HeadlessAlgorithm<ShortestPathResult> {
 
-    private final Graph graph;
+    private final GraphSnapshot g;
     private final int startNode;
     private final int targetNode;
-    private final List<AlgoStep> steps;
+    private StepSink sink;
+    private ShortestPathResult result;
 
     public Dijkstra(Graph graph, int startNode, int targetNode) {
-        this.graph = graph;
+        this(graph.snapshot(), startNode, targetNode);
+    }
+
+    public Dijkstra(GraphSnapshot g, int startNode, int targetNode) {
+        this.g = g;
         this.startNode = startNode;
         this.targetNode = targetNode;
-        this.steps = new ArrayList<>();
     }
 
     @Override
-    public List<AlgoStep> run() {
-        steps.clear();
-        int n = graph.vertexCount();
+    public void run(StepSink sink) {
+        this.sink = sink;
+        boolean trace = sink != StepSink.NONE;
+        int n = g.vertexCount();
 
         int[] dist = new int[n + 1];
         Arrays.fill(dist, Integer.MAX_VALUE);
@@ -32,52 +40,57 @@ public class Dijkstra implements GraphAlgorithm {
         int[] parent = new int[n + 1];
         Arrays.fill(parent, -1);
 
-        PriorityQueue<NodeDist> pq = new PriorityQueue<>(Comparator.comparingInt(nd -> nd.dist));
-        pq.add(new NodeDist(startNode, 0));
+        IndexedMinHeap pq = new IndexedMinHeap(n + 1);
+        pq.insert(startNode, 0);
 
         boolean[] finalized = new boolean[n + 1];
         boolean targetFound = false;
 
-        steps.add(new AlgoStep(AlgoStep.Type.VISIT_VERTEX, startNode, -1));
+        sink.emit(AlgoStep.Type.VISIT_VERTEX, startNode, -1);
 
         while (!pq.isEmpty()) {
-            NodeDist current = pq.poll();
-            int u = current.id;
-
-            if (finalized[u]) continue;
+            sink.checkCancelled();
+            int u = pq.poll();
             finalized[u] = true;
 
-            if (u != startNode) {
-                steps.add(new AlgoStep(AlgoStep.Type.VISIT_VERTEX, u, parent[u]));
-            }
+            if (trace) {
+                if (u != startNode) {
+                    sink.emit(AlgoStep.Type.VISIT_VERTEX, u, parent[u]);
+                }
 
-            steps.add(new AlgoStep(AlgoStep.Type.VISIT_VERTEX, u, parent[u]));
+                sink.emit(AlgoStep.Type.VISIT_VERTEX, u, parent[u]);
+            }
 
             if (u == targetNode) {
                 targetFound = true;
                 break;
             }
 
-            for (Edge e : graph.getAdj(u)) {
-                int v = e.to;
-                int weight = e.weight;
+            for (int i = g.begin(u), end = g.end(u); i < end; i++) {
+                int v = g.target(i);
+                int weight = g.weight(i);
 
-                steps.add(new AlgoStep(AlgoStep.Type.EXPLORE_EDGE, u, v));
+                if (trace) sink.emit(AlgoStep.Type.EXPLORE_EDGE, u, v);
 
                 if (!finalized[v] && dist[u] != Integer.MAX_VALUE && dist[u] + weight < dist[v]) {
                     dist[v] = dist[u] + weight;
                     parent[v] = u;
-                    pq.add(new NodeDist(v, dist[v]));
+                    pq.push(v, dist[v]);
                 }
             }
-            steps.add(new AlgoStep(AlgoStep.Type.FINISH_VERTEX, u, -1));
+            if (trace) sink.emit(AlgoStep.Type.FINISH_VERTEX, u, -1);
         }
 
-        if (targetFound) {
+        if (targetFound && trace) {
             reconstructPath(parent, targetNode);
         }
 
-        return steps;
+        result = new ShortestPathResult(startNode, targetNode, dist, parent);
+    }
+
+    @Override
+    public ShortestPathResult getResult() {
+        return result;
     }
 
     private void reconstructPath(int[] parent, int target) {
@@ -90,20 +103,15 @@ public class Dijkstra implements GraphAlgorithm {
         Collections.reverse(path);
 
         if (!path.isEmpty()) {
-            steps.add(new AlgoStep(AlgoStep.Type.HIGHLIGHT_NODE, path.get(0), -1));
+            sink.emit(AlgoStep.Type.HIGHLIGHT_NODE, path.get(0), -1);
         }
 
         for (int i = 0; i < path.size() - 1; i++) {
             int u = path.get(i);
             int v = path.get(i + 1);
 
-            steps.add(new AlgoStep(AlgoStep.Type.HIGHLIGHT_PATH, u, v));
-            steps.add(new AlgoStep(AlgoStep.Type.HIGHLIGHT_NODE, v, -1));
+            sink.emit(AlgoStep.Type.HIGHLIGHT_PATH, u, v);
+            sink.emit(AlgoStep.Type.HIGHLIGHT_NODE, v, -1);
         }
     }
-
-    private static class NodeDist {
-        int id, dist;
-        public NodeDist(int id, int dist) { this.id = id; this.dist = dist; }
-    }
 }
\ No newline at end of file
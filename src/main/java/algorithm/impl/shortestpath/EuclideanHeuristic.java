@@ -0,0 +1,49 @@
+package algorithm.impl.shortestpath;
+
+import model.Graph;
+import model.Vertex;
+
+import java.util.Arrays;
+
+public class EuclideanHeuristic implements Heuristic {
+    private static final double PIXELS_PER_UNIT = 200.0;
+
+    // Tọa độ x, y xen kẽ theo id đỉnh
+    private final double[] coords;
+    private final double[] cache;
+    private final double tx;
+    private final double ty;
+
+    public EuclideanHeuristic(Graph graph, int target) {
+        this(coordinatesOf(graph), target);
+    }
+
+    public EuclideanHeuristic(double[] coords, int target) {
+        this.coords = coords;
+        this.tx = coords[2 * target];
+        this.ty = coords[2 * target + 1];
+        this.cache = new double[coords.length / 2];
+        Arrays.fill(cache, Double.NaN);
+    }
+
+    public static double[] coordinatesOf(Graph graph) {
+        double[] coords = new double[2 * (graph.vertexCount() + 1)];
+        for (Vertex v : graph.getVertices()) {
+            coords[2 * v.id] = v.x;
+            coords[2 * v.id + 1] = v.y;
+        }
+        return coords;
+    }
+
+    @Override
+    public double estimate(int v) {
+        double h = cache[v];
+        if (Double.isNaN(h)) {
+            double dx = coords[2 * v] - tx;
+            double dy = coords[2 * v + 1] - ty;
+            h = Math.sqrt(dx * dx + dy * dy) / PIXELS_PER_UNIT;
+            cache[v] = h;
+        }
+        return h;
+    }
+}
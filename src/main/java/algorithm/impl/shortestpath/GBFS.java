@@ -1,77 +1,93 @@
 package algorithm.impl.shortestpath;
 
 import algorithm.AlgoStep;
-import algorithm.GraphAlgorithm;
-import model.Edge;
+import algorithm.HeadlessAlgorithm;
+import algorithm.StepSink;
+import algorithm.result.ShortestPathResult;
 import model.Graph;
-import model.Vertex;
+import model.GraphSnapshot;
 
 import java.util.*;
 
-public class GBFS implements GraphAlgorithm {
+public class GBFS implements HeadlessAlgorithm<ShortestPathResult> {
 
-    private final Graph graph;
+    private final GraphSnapshot g;
     private final int start;
     private final int target;
-    private final List<AlgoStep> steps;
+    private final Heuristic heuristic;
+    private StepSink sink;
+    private ShortestPathResult result;
 
     public GBFS(Graph graph, int start, int target) {
-        this.graph = graph;
+        this(graph.snapshot(), start, target, new EuclideanHeuristic(graph, target));
+    }
+
+    public GBFS(GraphSnapshot g, int start, int target, Heuristic heuristic) {
+        this.g = g;
         this.start = start;
         this.target = target;
-        this.steps = new ArrayList<>();
+        this.heuristic = heuristic;
     }
 
     @Override
-    public List<AlgoStep> run() {
-        steps.clear();
-        int n = graph.vertexCount();
+    public void run(StepSink sink) {
+        this.sink = sink;
+        boolean trace = sink != StepSink.NONE;
+        int n = g.vertexCount();
 
         PriorityQueue<NodeCost> pq = new PriorityQueue<>(Comparator.comparingDouble(node -> node.cost));
         Map<Integer, Integer> parent = new HashMap<>();
+        Map<Integer, Integer> cost = new HashMap<>();
         Set<Integer> visited = new HashSet<>();
-        Vertex targetVertex = graph.getVertex(target);
 
-        pq.add(new NodeCost(start, heuristic(start, targetVertex)));
+        pq.add(new NodeCost(start, heuristic.estimate(start)));
         visited.add(start);
+        cost.put(start, 0);
 
         boolean found = false;
 
         while (!pq.isEmpty()) {
+            sink.checkCancelled();
             NodeCost current = pq.poll();
             int u = current.id;
-            steps.add(new AlgoStep(AlgoStep.Type.VISIT_VERTEX, u, -1));
+            if (trace) sink.emit(AlgoStep.Type.VISIT_VERTEX, u, -1);
             if (u == target) {
                 found = true;
                 break;
             }
 
-            for (Edge e : graph.getAdj(u)) {
-                int v = e.to;
+            for (int i = g.begin(u), end = g.end(u); i < end; i++) {
+                int v = g.target(i);
                 if (!visited.contains(v)) {
                     visited.add(v);
                     parent.put(v, u);
+                    cost.put(v, cost.get(u) + g.weight(i));
 
                     // Tính h(v)
-                    double h = heuristic(v, targetVertex);
+                    double h = heuristic.estimate(v);
                     pq.add(new NodeCost(v, h));
 
-                    steps.add(new AlgoStep(AlgoStep.Type.EXPLORE_EDGE, u, v));
+                    if (trace) sink.emit(AlgoStep.Type.EXPLORE_EDGE, u, v);
                 }
             }
         }
 
-        if (found) {
+        if (found && trace) {
             reconstructPath(parent);
         }
-        return steps;
+
+        int[] dist = new int[n + 1];
+        int[] parentArr = new int[n + 1];
+        Arrays.fill(dist, ShortestPathResult.UNREACHABLE);
+        Arrays.fill(parentArr, -1);
+        cost.forEach((v, c) -> dist[v] = c);
+        parent.forEach((v, p) -> parentArr[v] = p);
+        result = new ShortestPathResult(start, target, dist, parentArr);
     }
 
-    private double heuristic(int uId, Vertex targetV) {
-        Vertex u = graph.getVertex(uId);
-        double dx = u.x - targetV.x;
-        double dy = u.y - targetV.y;
-        return Math.sqrt(dx * dx + dy * dy) / 200.0;
+    @Override
+    public ShortestPathResult getResult() {
+        return result;
     }
 
     private void reconstructPath(Map<Integer, Integer> parent) {
@@ -85,9 +101,9 @@ public class GBFS implements GraphAlgorithm {
 
         int prev = -1;
         for (int u : path) {
-            steps.add(new AlgoStep(AlgoStep.Type.HIGHLIGHT_NODE, u, -1));
+            sink.emit(AlgoStep.Type.HIGHLIGHT_NODE, u, -1);
             if (prev != -1) {
-                steps.add(new AlgoStep(AlgoStep.Type.HIGHLIGHT_PATH, prev, u));
+                sink.emit(AlgoStep.Type.HIGHLIGHT_PATH, prev, u);
             }
             prev = u;
         }
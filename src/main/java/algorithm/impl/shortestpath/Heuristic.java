@@ -0,0 +1,6 @@
+package algorithm.impl.shortestpath;
+
+@FunctionalInterface
+public interface Heuristic {
+    double estimate(int v);
+}
@@ -0,0 +1,136 @@
+package algorithm.impl.shortestpath;
+
+import algorithm.StepSink;
+import algorithm.util.IndexedMinHeap;
+import algorithm.util.SnapshotCache;
+import model.GraphSnapshot;
+
+import java.util.Arrays;
+
+// Tiền xử lý ALT (A*, Landmarks, Triangle inequality)
+public final class Landmarks {
+    public static final int DEFAULT_COUNT = 8;
+
+    private static final int INF = ShortestPaths.INF;
+    private static final SnapshotCache<Landmarks> CACHE =
+            new SnapshotCache<>(g -> new Landmarks(g, DEFAULT_COUNT));
+
+    private final int stride;
+    private final int[] landmarks;
+    // from[l * stride + v] = d(L_l, v), to[l * stride + v] = d(v, L_l)
+    private final int[] from;
+    private final int[] to;
+
+    public Landmarks(GraphSnapshot g, int count) {
+        this(g, count, StepSink.NONE);
+    }
+
+    // sink chỉ dùng để kiểm tra hủy, tiền xử lý không phát bước nào
+    public Landmarks(GraphSnapshot g, int count, StepSink sink) {
+        int n = g.vertexCount();
+        int k = Math.max(0, Math.min(count, n));
+        this.stride = n + 1;
+        this.landmarks = new int[k];
+        this.from = new int[k * stride];
+        IndexedMinHeap heap = new IndexedMinHeap(stride);
+
+        if (k > 0) {
+            // Chọn landmark xa nhất: bắt đầu từ đỉnh xa đỉnh 1 nhất,
+            // sau đó lần lượt lấy đỉnh xa tập landmark đã chọn nhất
+            int[] seed = new int[stride];
+            ShortestPaths.dijkstra(g, 1, seed, 0, heap, sink);
+            int[] nearest = new int[stride];
+            Arrays.fill(nearest, INF);
+            int next = farthest(seed, nearest, n);
+
+            for (int l = 0; l < k; l++) {
+                landmarks[l] = next;
+                int base = l * stride;
+                ShortestPaths.dijkstra(g, next, from, base, heap, sink);
+                for (int v = 1; v <= n; v++) {
+                    nearest[v] = Math.min(nearest[v], from[base + v]);
+                }
+                nearest[next] = -1;
+                next = farthest(nearest, nearest, n);
+            }
+        }
+
+        if (g.isDirected()) {
+            GraphSnapshot rev = g.reverse();
+            this.to = new int[k * stride];
+            for (int l = 0; l < k; l++) {
+                ShortestPaths.dijkstra(rev, landmarks[l], to, l * stride, heap, sink);
+            }
+        } else {
+            this.to = from;
+        }
+    }
+
+    public static Landmarks of(GraphSnapshot g) {
+        return CACHE.get(g);
+    }
+
+    // Như of(g) nhưng lần tiền xử lý (nếu phải chạy) dừng được qua sink; bị hủy thì không lưu gì vào cache
+    public static Landmarks of(GraphSnapshot g, StepSink sink) {
+        return CACHE.get(g, s -> new Landmarks(s, DEFAULT_COUNT, sink));
+    }
+
+    public int count() {
+        return landmarks.length;
+    }
+
+    public int[] landmarks() {
+        return landmarks.clone();
+    }
+
+    public Heuristic towards(int target) {
+        double[] cache = new double[stride];
+        Arrays.fill(cache, Double.NaN);
+        return v -> {
+            double h = cache[v];
+            if (Double.isNaN(h)) {
+                h = lowerBound(v, target);
+                cache[v] = h;
+            }
+            return h;
+        };
+    }
+
+    // Cận dưới của d(v, t) theo bất đẳng thức tam giác, +vô cùng nếu chắc chắn không tới được t
+    public double lowerBound(int v, int t) {
+        int best = 0;
+        for (int l = 0; l < landmarks.length; l++) {
+            int base = l * stride;
+
+            int lt = from[base + t];
+            int lv = from[base + v];
+            if (lv != INF) {
+                if (lt == INF) return Double.POSITIVE_INFINITY;
+                best = Math.max(best, lt - lv);
+            }
+
+            int tl = to[base + t];
+            int vl = to[base + v];
+            if (tl != INF) {
+                if (vl == INF) return Double.POSITIVE_INFINITY;
+                best = Math.max(best, vl - tl);
+            }
+        }
+        return best;
+    }
+
+    private static int farthest(int[] dist, int[] nearest, int n) {
+        int best = 1;
+        long bestDist = -1;
+        for (int v = 1; v <= n; v++) {
+            if (nearest[v] < 0) continue;
+            // Đỉnh không tới được được ưu tiên để phủ thêm thành phần liên thông khác
+            long d = dist[v] == INF ? Long.MAX_VALUE : dist[v];
+            if (d > bestDist) {
+                bestDist = d;
+                best = v;
+            }
+        }
+        return best;
+    }
+}
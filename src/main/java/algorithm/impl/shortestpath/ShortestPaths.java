@@ -0,0 +1,41 @@
+package algorithm.impl.shortestpath;
+
+import algorithm.StepSink;
+import algorithm.util.IndexedMinHeap;
+import model.GraphSnapshot;
+
+import java.util.Arrays;
+
+final class ShortestPaths {
+    static final int INF = Integer.MAX_VALUE;
+
+    private ShortestPaths() {
+    }
+
+    // Dijkstra đầy đủ từ source, ghi d(source, v) vào dist[base + v] với v = 0..n
+    static void dijkstra(GraphSnapshot g, int source, int[] dist, int base, IndexedMinHeap heap) {
+        dijkstra(g, source, dist, base, heap, StepSink.NONE);
+    }
+
+    static void dijkstra(GraphSnapshot g, int source, int[] dist, int base, IndexedMinHeap heap, StepSink sink) {
+        int n = g.vertexCount();
+        Arrays.fill(dist, base, base + n + 1, INF);
+        dist[base + source] = 0;
+
+        heap.clear();
+        heap.insert(source, 0);
+        while (!heap.isEmpty()) {
+            sink.checkCancelled();
+            int u = heap.poll();
+            int du = dist[base + u];
+            for (int i = g.begin(u), end = g.end(u); i < end; i++) {
+                int v = g.target(i);
+                int nd = du + g.weight(i);
+                if (nd < dist[base + v]) {
+                    dist[base + v] = nd;
+                    heap.push(v, nd);
+                }
+            }
+        }
+    }
+}
@@ -1,56 +1,70 @@
 package algorithm.impl.traversal;
 
 import algorithm.AlgoStep;
-import algorithm.GraphAlgorithm;
+import algorithm.HeadlessAlgorithm;
+import algorithm.StepSink;
+import algorithm.result.TraversalResult;
 import model.Graph;
-import model.Edge;
+import model.GraphSnapshot;
 import java.util.*;
 
-public class BFS implements GraphAlgorithm {
+public class BFS implements HeadlessAlgorithm<TraversalResult> {
 
-    private final Graph g;
+    private final GraphSnapshot g;
     private final int start;
-    private final boolean[] visited;
-    private final List<AlgoStep> steps = new ArrayList<>();
+    private TraversalResult result;
 
-    public BFS(Graph g, int start) {
+    public BFS(Graph graph, int start) {
+        this(graph.snapshot(), start);
+    }
+
+    public BFS(GraphSnapshot g, int start) {
         this.g = g;
         this.start = start;
-        visited = new boolean[g.vertexCount() + 1];
     }
 
-    public List<AlgoStep> run() {
-        steps.clear();
+    @Override
+    public void run(StepSink sink) {
+        boolean trace = sink != StepSink.NONE;
+        int n = g.vertexCount();
 
-        Queue<Integer> q = new LinkedList<>();
+        boolean[] visited = new boolean[n + 1];
+        int[] parent = new int[n + 1];
+        Arrays.fill(parent, -1);
+        int[] queue = new int[n];
+        int head = 0, tail = 0;
 
         visited[start] = true;
-        q.add(start);
-
-        steps.add(new AlgoStep(AlgoStep.Type.VISIT_VERTEX, start, -1));
+        queue[tail++] = start;
 
-        while (!q.isEmpty()) {
-            int u = q.poll();
+        sink.emit(AlgoStep.Type.VISIT_VERTEX, start, -1);
 
-            List<Edge> neighbors = g.getAdj(u);
+        while (head < tail) {
+            sink.checkCancelled();
+            int u = queue[head++];
 
-            neighbors.sort(Comparator.comparingInt(e -> e.to));
-
-            for (Edge e : neighbors) {
-                int v = e.to;
-                steps.add(new AlgoStep(AlgoStep.Type.EXPLORE_EDGE, u, v));
+            for (int i = g.begin(u), end = g.end(u); i < end; i++) {
+                int v = g.target(i);
+                if (trace) sink.emit(AlgoStep.Type.EXPLORE_EDGE, u, v);
 
                 if (!visited[v]) {
                     visited[v] = true;
+                    parent[v] = u;
 
-                    steps.add(new AlgoStep(AlgoStep.Type.VISIT_VERTEX, v, u)); // u là parent
-                    q.add(v);
+                    if (trace) sink.emit(AlgoStep.Type.VISIT_VERTEX, v, u); // u là parent
+                    queue[tail++] = v;
                 }
             }
 
-            steps.add(new AlgoStep(AlgoStep.Type.FINISH_VERTEX, u, -1));
+            if (trace) sink.emit(AlgoStep.Type.FINISH_VERTEX, u, -1);
         }
 
-        return steps;
+        // Hàng đợi chính là thứ tự thăm
+        result = new TraversalResult(start, Arrays.copyOf(queue, tail), parent);
+    }
+
+    @Override
+    public TraversalResult getResult() {
+        return result;
     }
-}
\ No newline at end of file
+}
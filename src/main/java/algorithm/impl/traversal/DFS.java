@@ -1,49 +1,79 @@
 package algorithm.impl.traversal;
 
 import algorithm.AlgoStep;
-import algorithm.GraphAlgorithm;
-import model.Edge;
+import algorithm.HeadlessAlgorithm;
+import algorithm.StepSink;
+import algorithm.result.TraversalResult;
 import model.Graph;
+import model.GraphSnapshot;
 import java.util.*;
 
-public class DFS implements GraphAlgorithm {
+public class DFS implements HeadlessAlgorithm<TraversalResult> {
 
-    private final Graph graph;
+    private final GraphSnapshot g;
     private final int startNode;
-    private final boolean[] visited;
-    private final List<AlgoStep> steps;
+    private TraversalResult result;
 
     public DFS(Graph graph, int startNode) {
-        this.graph = graph;
+        this(graph.snapshot(), startNode);
+    }
+
+    public DFS(GraphSnapshot g, int startNode) {
+        this.g = g;
         this.startNode = startNode;
-        this.visited = new boolean[graph.vertexCount() + 1];
-        this.steps = new ArrayList<>();
     }
 
     @Override
-    public List<AlgoStep> run() {
-        steps.clear();
-        steps.add(new AlgoStep(AlgoStep.Type.VISIT_VERTEX, startNode, -1));
-        visited[startNode] = true;
-        dfsRecursion(startNode);
-        return steps;
-    }
+    public void run(StepSink sink) {
+        boolean trace = sink != StepSink.NONE;
+        int n = g.vertexCount();
+        boolean[] visited = new boolean[n + 1];
+        int[] parent = new int[n + 1];
+        Arrays.fill(parent, -1);
+        int[] order = new int[n];
+        int orderSize = 0;
+
+        // Ngăn xếp tường minh thay cho đệ quy: stack[k] là đỉnh ở độ sâu k, cursor[k] là cung kế tiếp cần xét.
+        // Hàng kề của snapshot đã được sắp theo đỉnh đích nên thứ tự duyệt giữ nguyên như trước.
+        int[] stack = new int[n];
+        int[] cursor = new int[n];
+        int top = 0;
 
-    private void dfsRecursion(int u) {
-        List<Edge> neighbors = graph.getAdj(u);
-        neighbors.sort(Comparator.comparingInt(e -> e.to));
+        sink.emit(AlgoStep.Type.VISIT_VERTEX, startNode, -1);
+        visited[startNode] = true;
+        order[orderSize++] = startNode;
+        stack[0] = startNode;
+        cursor[0] = g.begin(startNode);
 
-        for (Edge e : neighbors) {
-            int v = e.to;
-            steps.add(new AlgoStep(AlgoStep.Type.EXPLORE_EDGE, u, v));
+        while (top >= 0) {
+            sink.checkCancelled();
+            int u = stack[top];
+            if (cursor[top] < g.end(u)) {
+                int v = g.target(cursor[top]++);
+                if (trace) sink.emit(AlgoStep.Type.EXPLORE_EDGE, u, v);
 
-            if (!visited[v]) {
-                visited[v] = true;
-                steps.add(new AlgoStep(AlgoStep.Type.VISIT_VERTEX, v, u));
-                dfsRecursion(v);
-                steps.add(new AlgoStep(AlgoStep.Type.VISIT_VERTEX, u, -1));
+                if (!visited[v]) {
+                    visited[v] = true;
+                    parent[v] = u;
+                    order[orderSize++] = v;
+                    if (trace) sink.emit(AlgoStep.Type.VISIT_VERTEX, v, u);
+                    top++;
+                    stack[top] = v;
+                    cursor[top] = g.begin(v);
+                }
+            } else {
+                if (trace) sink.emit(AlgoStep.Type.FINISH_VERTEX, u, -1);
+                top--;
+                // Quay lại đỉnh cha như khi lời gọi đệ quy trả về
+                if (top >= 0 && trace) sink.emit(AlgoStep.Type.VISIT_VERTEX, stack[top], -1);
             }
         }
-        steps.add(new AlgoStep(AlgoStep.Type.FINISH_VERTEX, u, -1));
+
+        result = new TraversalResult(startNode, Arrays.copyOf(order, orderSize), parent);
+    }
+
+    @Override
+    public TraversalResult getResult() {
+        return result;
     }
-}
\ No newline at end of file
+}
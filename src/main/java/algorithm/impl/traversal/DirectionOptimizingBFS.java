@@ -0,0 +1,230 @@
+package algorithm.impl.traversal;
+
+import algorithm.AlgoStep;
+import algorithm.HeadlessAlgorithm;
+import algorithm.StepSink;
+import algorithm.result.LevelTraversalResult;
+import model.Graph;
+import model.GraphSnapshot;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+// BFS đồng bộ theo tầng của Beamer: tầng nhỏ duyệt từ trên xuống (frontier -> láng giềng),
+// tầng lớn duyệt từ dưới lên (mỗi đỉnh chưa thăm tìm cha trong frontier); frontier lưu dạng bitset
+public class DirectionOptimizingBFS implements HeadlessAlgorithm<LevelTraversalResult> {
+    private static final int ALPHA = 14;
+    private static final int BETA = 24;
+    // Mỗi tác vụ fork/join xử lý một dải 64 word = 4096 đỉnh; dải không chồng nhau nên khi duyệt
+    // từ dưới lên mỗi word của bitset chỉ có một luồng ghi
+    private static final int CHUNK_WORDS = 64;
+
+    private final GraphSnapshot g;
+    private final int start;
+    private LevelTraversalResult result;
+
+    private int words;
+    private long[] frontier;
+    private AtomicLongArray next;
+    private AtomicLongArray visited;
+    private int[] parent;
+    private int[] level;
+
+    public DirectionOptimizingBFS(Graph graph, int start) {
+        this(graph.snapshot(), start);
+    }
+
+    public DirectionOptimizingBFS(GraphSnapshot g, int start) {
+        this.g = g;
+        this.start = start;
+    }
+
+    @Override
+    public void run(StepSink sink) {
+        boolean trace = sink != StepSink.NONE;
+        int n = g.vertexCount();
+        GraphSnapshot rev = g.reverse();
+
+        words = (n + 64) >>> 6;
+        frontier = new long[words];
+        next = new AtomicLongArray(words);
+        visited = new AtomicLongArray(words);
+        parent = new int[n + 1];
+        level = new int[n + 1];
+        Arrays.fill(parent, -1);
+        Arrays.fill(level, -1);
+
+        frontier[start >>> 6] |= 1L << start;
+        visited.set(start >>> 6, 1L << start);
+        level[start] = 0;
+        if (trace) sink.emit(AlgoStep.Type.VISIT_BATCH, 0, -1, String.valueOf(start));
+
+        int chunks = (words + CHUNK_WORDS - 1) / CHUNK_WORDS;
+        long[] counts = new long[2 * chunks];
+
+        long frontierSize = 1;
+        long frontierEdges = g.degree(start);
+        long unexploredEdges = g.arcCount() - frontierEdges;
+        boolean bottomUp = false;
+        int depth = 0;
+
+        while (frontierSize > 0) {
+            sink.checkCancelled();
+            // Heuristic chuyển hướng: m_f > m_u / alpha thì lên bottom-up, n_f < n / beta thì về top-down
+            if (!bottomUp && frontierEdges > unexploredEdges / ALPHA) {
+                bottomUp = true;
+            } else if (bottomUp && frontierSize < n / BETA) {
+                bottomUp = false;
+            }
+
+            int d = depth + 1;
+            Arrays.fill(counts, 0);
+            boolean up = bottomUp;
+            IntStream.range(0, chunks).parallel().forEach(c -> {
+                int w0 = c * CHUNK_WORDS;
+                int w1 = Math.min(words, w0 + CHUNK_WORDS);
+                if (up) bottomUpStep(rev, w0, w1, d, counts, c);
+                else topDownStep(w0, w1, d, counts, c);
+            });
+
+            frontierSize = 0;
+            frontierEdges = 0;
+            for (int c = 0; c < chunks; c++) {
+                frontierSize += counts[2 * c];
+                frontierEdges += counts[2 * c + 1];
+            }
+            unexploredEdges -= frontierEdges;
+
+            for (int w = 0; w < words; w++) {
+                frontier[w] = next.get(w);
+                next.set(w, 0);
+            }
+            if (trace && frontierSize > 0) sink.emit(AlgoStep.Type.VISIT_BATCH, d, -1, joinFrontier());
+            depth = d;
+        }
+
+        result = new LevelTraversalResult(start, orderByLevel(n, depth), parent, level);
+        frontier = null;
+        next = null;
+        visited = null;
+    }
+
+    @Override
+    public LevelTraversalResult getResult() {
+        return result;
+    }
+
+    private void topDownStep(int w0, int w1, int d, long[] counts, int c) {
+        long found = 0;
+        long edges = 0;
+        for (int w = w0; w < w1; w++) {
+            long bits = frontier[w];
+            while (bits != 0) {
+                int u = (w << 6) | Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+
+                for (int i = g.begin(u), end = g.end(u); i < end; i++) {
+                    int v = g.target(i);
+                    if (claim(v)) {
+                        parent[v] = u;
+                        level[v] = d;
+                        setBit(next, v);
+                        found++;
+                        edges += g.degree(v);
+                    }
+                }
+            }
+        }
+        counts[2 * c] = found;
+        counts[2 * c + 1] = edges;
+    }
+
+    private void bottomUpStep(GraphSnapshot rev, int w0, int w1, int d, long[] counts, int c) {
+        int n = g.vertexCount();
+        long found = 0;
+        long edges = 0;
+        for (int w = w0; w < w1; w++) {
+            long seen = visited.get(w);
+            long added = 0;
+            // Các bit chưa thăm trong word này, chỉ lấy đỉnh 1..n
+            long todo = ~seen;
+            if (w == 0) todo &= ~1L;
+            if (w == words - 1 && ((n + 1) & 63) != 0) todo &= (1L << ((n + 1) & 63)) - 1;
+
+            while (todo != 0) {
+                int v = (w << 6) | Long.numberOfTrailingZeros(todo);
+                todo &= todo - 1;
+
+                for (int i = rev.begin(v), end = rev.end(v); i < end; i++) {
+                    int x = rev.target(i);
+                    if ((frontier[x >>> 6] & (1L << x)) != 0) {
+                        parent[v] = x;
+                        level[v] = d;
+                        added |= 1L << v;
+                        found++;
+                        edges += g.degree(v);
+                        break;
+                    }
+                }
+            }
+            if (added != 0) {
+                visited.set(w, seen | added);
+                next.set(w, added);
+            }
+        }
+        counts[2 * c] = found;
+        counts[2 * c + 1] = edges;
+    }
+
+    private boolean claim(int v) {
+        int w = v >>> 6;
+        long bit = 1L << v;
+        while (true) {
+            long cur = visited.get(w);
+            if ((cur & bit) != 0) return false;
+            if (visited.compareAndSet(w, cur, cur | bit)) return true;
+        }
+    }
+
+    private static void setBit(AtomicLongArray bits, int v) {
+        int w = v >>> 6;
+        long bit = 1L << v;
+        while (true) {
+            long cur = bits.get(w);
+            if ((cur & bit) != 0 || bits.compareAndSet(w, cur, cur | bit)) return;
+        }
+    }
+
+    private String joinFrontier() {
+        StringBuilder sb = new StringBuilder();
+        for (int w = 0; w < words; w++) {
+            long bits = frontier[w];
+            while (bits != 0) {
+                if (!sb.isEmpty()) sb.append(' ');
+                sb.append((w << 6) | Long.numberOfTrailingZeros(bits));
+                bits &= bits - 1;
+            }
+        }
+        return sb.toString();
+    }
+
+    // Thứ tự thăm: theo tầng, trong cùng một tầng theo id đỉnh
+    private int[] orderByLevel(int n, int levels) {
+        int[] offset = new int[levels + 2];
+        int reached = 0;
+        for (int v = 1; v <= n; v++) {
+            if (level[v] >= 0) {
+                offset[level[v] + 1]++;
+                reached++;
+            }
+        }
+        for (int l = 1; l <= levels + 1; l++) offset[l] += offset[l - 1];
+
+        int[] order = new int[reached];
+        for (int v = 1; v <= n; v++) {
+            if (level[v] >= 0) order[offset[level[v]]++] = v;
+        }
+        return order;
+    }
+}
@@ -0,0 +1,97 @@
+package algorithm.impl.traversal;
+
+import algorithm.AlgoStep;
+import algorithm.HeadlessAlgorithm;
+import algorithm.StepSink;
+import algorithm.result.HopDistanceTable;
+import model.Graph;
+import model.GraphSnapshot;
+
+import java.util.stream.IntStream;
+
+// MS-BFS (Then et al.): mỗi đỉnh giữ mặt nạ 64 bit, bit j bật nghĩa là BFS của nguồn thứ j đã/đang ở đỉnh đó,
+// nên một lần quét danh sách kề phục vụ cùng lúc 64 lượt BFS. Các lô 64 nguồn chạy song song với nhau.
+public class MultiSourceBFS implements HeadlessAlgorithm<HopDistanceTable> {
+
+    private final GraphSnapshot g;
+    private final int[] sources;
+    private HopDistanceTable result;
+
+    public MultiSourceBFS(Graph graph, int[] sources) {
+        this(graph.snapshot(), sources);
+    }
+
+    public MultiSourceBFS(GraphSnapshot g, int[] sources) {
+        this.g = g;
+        this.sources = sources.clone();
+    }
+
+    @Override
+    public void run(StepSink sink) {
+        int n = g.vertexCount();
+        int batches = (sources.length + HopDistanceTable.BATCH - 1) / HopDistanceTable.BATCH;
+        HopDistanceTable.Block[] blocks = new HopDistanceTable.Block[batches];
+
+        IntStream.range(0, batches).parallel().forEach(b -> blocks[b] = runBatch(b, n, sink));
+
+        result = new HopDistanceTable(sources, n, blocks);
+
+        if (sink != StepSink.NONE) {
+            sink.emit(AlgoStep.Type.SHOW_RESULT, -1, -1,
+                    "Khoảng cách hop từ " + sources.length + " nguồn (" + batches + " lô)");
+        }
+    }
+
+    @Override
+    public HopDistanceTable getResult() {
+        return result;
+    }
+
+    private HopDistanceTable.Block runBatch(int batch, int n, StepSink sink) {
+        int stride = n + 1;
+        int first = batch * HopDistanceTable.BATCH;
+        int count = Math.min(HopDistanceTable.BATCH, sources.length - first);
+        HopDistanceTable.Block block = new HopDistanceTable.Block(count * stride);
+
+        long[] seen = new long[stride];
+        long[] visit = new long[stride];
+        long[] visitNext = new long[stride];
+
+        for (int j = 0; j < count; j++) {
+            int s = sources[first + j];
+            seen[s] |= 1L << j;
+            visit[s] |= 1L << j;
+            block.set(j * stride + s, 0);
+        }
+
+        boolean active = true;
+        for (int level = 1; active; level++) {
+            // Mỗi tầng quét cả n đỉnh nên kiểm tra hủy theo tầng; ngoại lệ đi qua forEach về luồng gọi
+            sink.checkCancelled();
+            for (int v = 1; v <= n; v++) {
+                long mask = visit[v];
+                if (mask == 0) continue;
+                for (int i = g.begin(v), end = g.end(v); i < end; i++) {
+                    visitNext[g.target(i)] |= mask;
+                }
+            }
+
+            active = false;
+            for (int w = 1; w <= n; w++) {
+                long fresh = visitNext[w] & ~seen[w];
+                visitNext[w] = 0;
+                visit[w] = fresh;
+                if (fresh == 0) continue;
+
+                active = true;
+                seen[w] |= fresh;
+                while (fresh != 0) {
+                    int j = Long.numberOfTrailingZeros(fresh);
+                    fresh &= fresh - 1;
+                    block.set(j * stride + w, level);
+                }
+            }
+        }
+        return block;
+    }
+}
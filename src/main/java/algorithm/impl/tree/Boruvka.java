@@ -0,0 +1,117 @@
+package algorithm.impl.tree;
+
+import algorithm.AlgoStep;
+import algorithm.HeadlessAlgorithm;
+import algorithm.StepSink;
+import algorithm.result.SpanningTreeResult;
+import algorithm.util.UnionFind;
+import model.Graph;
+import model.GraphSnapshot;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+// Borůvka song song: mỗi vòng quét các cạnh còn sống trên mọi lõi để tìm cạnh nhẹ nhất ra khỏi mỗi thành phần
+// (CAS lấy min), nối các thành phần theo các cạnh đó, rồi bỏ các cạnh đã nằm gọn trong một thành phần.
+// Số thành phần giảm ít nhất một nửa mỗi vòng nên chỉ cần O(log n) vòng
+public class Boruvka implements HeadlessAlgorithm<SpanningTreeResult> {
+    private static final long NONE = Long.MAX_VALUE;
+    // Số cạnh tối thiểu cho mỗi tác vụ song song
+    private static final int GRAIN = 4096;
+
+    private final GraphSnapshot g;
+    private SpanningTreeResult result;
+
+    public Boruvka(Graph graph) {
+        this(graph.snapshot());
+    }
+
+    public Boruvka(GraphSnapshot g) {
+        this.g = g;
+    }
+
+    @Override
+    public void run(StepSink sink) {
+        boolean trace = sink != StepSink.NONE;
+        int n = g.vertexCount();
+        int m = g.edgeCount();
+
+        int[] comp = new int[n + 1];
+        for (int v = 0; v <= n; v++) comp[v] = v;
+        UnionFind uf = new UnionFind(n);
+
+        // Khóa (trọng số << 32 | chỉ số cạnh) phân biệt mọi cạnh nên cạnh nhẹ nhất luôn duy nhất, không tạo chu trình
+        AtomicLongArray best = new AtomicLongArray(n + 1);
+        for (int v = 0; v <= n; v++) best.set(v, NONE);
+
+        int[] alive = IntStream.range(0, m).filter(e -> g.edgeFrom(e) != g.edgeTo(e)).toArray();
+        int[] treeEdges = new int[Math.max(n - 1, 0)];
+        int edgesCount = 0;
+        long totalWeight = 0;
+
+        while (alive.length > 0) {
+            sink.checkCancelled();
+            int[] edges = alive;
+            chunks(edges.length).forEach(c -> {
+                sink.checkCancelled();
+                for (int i = c * GRAIN, end = Math.min(edges.length, (c + 1) * GRAIN); i < end; i++) {
+                    int e = edges[i];
+                    int cu = comp[g.edgeFrom(e)];
+                    int cv = comp[g.edgeTo(e)];
+                    if (cu == cv) continue;
+                    long key = ((long) g.edgeWeight(e) << 32) | e;
+                    lowerTo(best, cu, key);
+                    lowerTo(best, cv, key);
+                }
+            });
+
+            for (int c = 1; c <= n; c++) {
+                long key = best.get(c);
+                if (comp[c] != c || key == NONE) continue;
+                best.set(c, NONE);
+
+                int e = (int) key;
+                int u = g.edgeFrom(e);
+                int v = g.edgeTo(e);
+                // Hai thành phần có thể cùng chọn một cạnh, lần thứ hai union trả về false
+                if (!uf.union(u, v)) continue;
+
+                if (trace) {
+                    sink.emit(AlgoStep.Type.EXPLORE_EDGE, u, v);
+                    sink.emit(AlgoStep.Type.HIGHLIGHT_PATH, u, v);
+                    sink.emit(AlgoStep.Type.HIGHLIGHT_NODE, u, -1);
+                    sink.emit(AlgoStep.Type.HIGHLIGHT_NODE, v, -1);
+                }
+                treeEdges[edgesCount++] = e;
+                totalWeight += g.edgeWeight(e);
+            }
+
+            for (int v = 1; v <= n; v++) comp[v] = uf.find(v);
+
+            alive = Arrays.stream(edges).parallel()
+                    .filter(e -> comp[g.edgeFrom(e)] != comp[g.edgeTo(e)])
+                    .toArray();
+        }
+
+        result = new SpanningTreeResult(Arrays.copyOf(treeEdges, edgesCount), totalWeight);
+    }
+
+    @Override
+    public SpanningTreeResult getResult() {
+        return result;
+    }
+
+    private static IntStream chunks(int size) {
+        int tasks = (size + GRAIN - 1) / GRAIN;
+        IntStream range = IntStream.range(0, tasks);
+        return tasks > 1 ? range.parallel() : range;
+    }
+
+    private static void lowerTo(AtomicLongArray best, int c, long key) {
+        while (true) {
+            long cur = best.get(c);
+            if (key >= cur || best.compareAndSet(c, cur, key)) return;
+        }
+    }
+}
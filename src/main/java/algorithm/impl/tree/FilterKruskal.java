@@ -0,0 +1,137 @@
+package algorithm.impl.tree;
+
+import algorithm.AlgoStep;
+import algorithm.HeadlessAlgorithm;
+import algorithm.StepSink;
+import algorithm.result.SpanningTreeResult;
+import algorithm.util.UnionFind;
+import model.Graph;
+import model.GraphSnapshot;
+
+import java.util.Arrays;
+
+// Filter-Kruskal (Osipov, Sanders, Singler): chia cạnh quanh một pivot như quickselect, xử lý nửa nhẹ trước,
+// rồi lọc khỏi nửa nặng các cạnh đã nằm trong cùng một cây trước khi đệ quy. Phần lớn cạnh nặng bị loại
+// mà không cần sắp xếp; chỉ đoạn nhỏ dưới THRESHOLD mới sắp xếp như Kruskal thường
+public class FilterKruskal implements HeadlessAlgorithm<SpanningTreeResult> {
+    private static final int THRESHOLD = 1024;
+
+    private final GraphSnapshot g;
+    private SpanningTreeResult result;
+
+    private long[] keys;
+    private UnionFind uf;
+    private int[] treeEdges;
+    private int edgesCount;
+    private long totalWeight;
+    private StepSink sink;
+
+    public FilterKruskal(Graph graph) {
+        this(graph.snapshot());
+    }
+
+    public FilterKruskal(GraphSnapshot g) {
+        this.g = g;
+    }
+
+    @Override
+    public void run(StepSink sink) {
+        int n = g.vertexCount();
+        int m = g.edgeCount();
+        this.sink = sink;
+
+        // (trọng số << 32 | chỉ số cạnh): khóa primitive và không có hai cạnh trùng khóa
+        keys = new long[m];
+        for (int e = 0; e < m; e++) {
+            keys[e] = ((long) g.edgeWeight(e) << 32) | e;
+        }
+        uf = new UnionFind(n);
+        treeEdges = new int[Math.max(n - 1, 0)];
+        edgesCount = 0;
+        totalWeight = 0;
+
+        filterKruskal(0, m);
+
+        result = new SpanningTreeResult(Arrays.copyOf(treeEdges, edgesCount), totalWeight);
+        keys = null;
+        uf = null;
+        treeEdges = null;
+        this.sink = null;
+    }
+
+    @Override
+    public SpanningTreeResult getResult() {
+        return result;
+    }
+
+    // Xử lý keys[lo, hi). Nhánh nặng được lặp thay vì đệ quy nên độ sâu đệ quy chỉ theo nhánh nhẹ
+    private void filterKruskal(int lo, int hi) {
+        while (hi - lo > 0 && edgesCount < treeEdges.length) {
+            sink.checkCancelled();
+            if (hi - lo <= THRESHOLD) {
+                kruskal(lo, hi);
+                return;
+            }
+
+            int mid = partition(lo, hi);
+            filterKruskal(lo, mid);
+            if (edgesCount == treeEdges.length) return;
+            lo = mid;
+            hi = filter(lo, hi);
+        }
+    }
+
+    private void kruskal(int lo, int hi) {
+        boolean trace = sink != StepSink.NONE;
+        Arrays.sort(keys, lo, hi);
+        for (int i = lo; i < hi && edgesCount < treeEdges.length; i++) {
+            sink.checkCancelled();
+            int e = (int) keys[i];
+            int u = g.edgeFrom(e);
+            int v = g.edgeTo(e);
+            if (trace) sink.emit(AlgoStep.Type.EXPLORE_EDGE, u, v);
+
+            if (uf.union(u, v)) {
+                if (trace) {
+                    sink.emit(AlgoStep.Type.HIGHLIGHT_PATH, u, v);
+                    sink.emit(AlgoStep.Type.HIGHLIGHT_NODE, u, -1);
+                    sink.emit(AlgoStep.Type.HIGHLIGHT_NODE, v, -1);
+                }
+                treeEdges[edgesCount++] = e;
+                totalWeight += g.edgeWeight(e);
+            }
+        }
+    }
+
+    // Phân hoạch quanh trung vị của ba khóa: [lo, mid) <= pivot < [mid, hi)
+    private int partition(int lo, int hi) {
+        long a = keys[lo];
+        long b = keys[lo + (hi - lo) / 2];
+        long c = keys[hi - 1];
+        long pivot = Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+
+        int i = lo;
+        int j = hi - 1;
+        while (i <= j) {
+            if (keys[i] <= pivot) {
+                i++;
+            } else {
+                long tmp = keys[i];
+                keys[i] = keys[j];
+                keys[j] = tmp;
+                j--;
+            }
+        }
+        return i;
+    }
+
+    // Giữ lại các cạnh nối hai cây khác nhau, trả về đầu mút mới của đoạn
+    private int filter(int lo, int hi) {
+        int out = lo;
+        for (int i = lo; i < hi; i++) {
+            int e = (int) keys[i];
+            if (!uf.connected(g.edgeFrom(e), g.edgeTo(e))) keys[out++] = keys[i];
+        }
+        return out;
+    }
+}
@@ -1,69 +1,70 @@
 package algorithm.impl.tree;
 
 import algorithm.AlgoStep;
-import algorithm.GraphAlgorithm;
-import model.Edge;
+import algorithm.HeadlessAlgorithm;
+import algorithm.StepSink;
+import algorithm.result.SpanningTreeResult;
+import algorithm.util.UnionFind;
 import model.Graph;
+import model.GraphSnapshot;
 import java.util.*;
 
-public class Kruskal implements GraphAlgorithm {
+public class Kruskal implements HeadlessAlgorithm<SpanningTreeResult> {
 
-    private final Graph graph;
-    private final List<AlgoStep> steps;
+    private final GraphSnapshot g;
+    private SpanningTreeResult result;
 
     public Kruskal(Graph graph) {
-        this.graph = graph;
-        this.steps = new ArrayList<>();
+        this(graph.snapshot());
     }
 
-    @Override
-    public List<AlgoStep> run() {
-        steps.clear();
-        int n = graph.vertexCount();
+    public Kruskal(GraphSnapshot g) {
+        this.g = g;
+    }
 
-        List<Edge> edges = new ArrayList<>(graph.getEdges());
-        edges.sort(Comparator.comparingInt(e -> e.weight));
-        DSU dsu = new DSU(n);
+    @Override
+    public void run(StepSink sink) {
+        boolean trace = sink != StepSink.NONE;
+        int n = g.vertexCount();
+        int m = g.edgeCount();
+
+        // (trọng số << 32 | chỉ số cạnh): sắp xếp primitive, giữ thứ tự ổn định
+        long[] order = new long[m];
+        for (int e = 0; e < m; e++) {
+            order[e] = ((long) g.edgeWeight(e) << 32) | e;
+        }
+        Arrays.sort(order);
+        UnionFind dsu = new UnionFind(n);
 
         int edgesCount = 0;
-
-        for (Edge e : edges) {
-            steps.add(new AlgoStep(AlgoStep.Type.EXPLORE_EDGE, e.from, e.to));
-
-            if (dsu.find(e.from) != dsu.find(e.to)) {
-                dsu.union(e.from, e.to);
-
-                steps.add(new AlgoStep(AlgoStep.Type.HIGHLIGHT_PATH, e.from, e.to));
-                steps.add(new AlgoStep(AlgoStep.Type.HIGHLIGHT_NODE, e.from, -1));
-                steps.add(new AlgoStep(AlgoStep.Type.HIGHLIGHT_NODE, e.to, -1));
-
-                edgesCount++;
+        int[] treeEdges = new int[Math.max(n - 1, 0)];
+        long totalWeight = 0;
+
+        for (long key : order) {
+            sink.checkCancelled();
+            int e = (int) key;
+            int u = g.edgeFrom(e);
+            int v = g.edgeTo(e);
+            if (trace) sink.emit(AlgoStep.Type.EXPLORE_EDGE, u, v);
+
+            if (dsu.union(u, v)) {
+                if (trace) {
+                    sink.emit(AlgoStep.Type.HIGHLIGHT_PATH, u, v);
+                    sink.emit(AlgoStep.Type.HIGHLIGHT_NODE, u, -1);
+                    sink.emit(AlgoStep.Type.HIGHLIGHT_NODE, v, -1);
+                }
+
+                treeEdges[edgesCount++] = e;
+                totalWeight += g.edgeWeight(e);
             }
             if (edgesCount == n - 1) break;
         }
 
-        return steps;
+        result = new SpanningTreeResult(Arrays.copyOf(treeEdges, edgesCount), totalWeight);
     }
 
-    private static class DSU {
-        private final int[] parent;
-
-        public DSU(int n) {
-            parent = new int[n + 1];
-            for (int i = 1; i <= n; i++) parent[i] = i;
-        }
-
-        public int find(int u) {
-            if (parent[u] == u) return u;
-            return parent[u] = find(parent[u]);
-        }
-
-        public void union(int u, int v) {
-            int rootU = find(u);
-            int rootV = find(v);
-            if (rootU != rootV) {
-                parent[rootV] = rootU;
-            }
-        }
+    @Override
+    public SpanningTreeResult getResult() {
+        return result;
     }
 }
\ No newline at end of file
@@ -0,0 +1,153 @@
+package algorithm.impl.tree;
+
+import algorithm.AlgoStep;
+import algorithm.HeadlessAlgorithm;
+import algorithm.StepSink;
+import algorithm.result.SpanningTreeResult;
+import algorithm.util.IndexedMinHeap;
+import model.Graph;
+import model.GraphSnapshot;
+
+import java.util.Arrays;
+
+// Prim mọc cây từ đỉnh bắt đầu; hết thành phần thì tiếp tục từ một đỉnh chưa thăm để ra rừng khung như Kruskal.
+// Đồ thị thưa dùng heap chỉ mục (a log n), đồ thị gần đầy đủ quét mảng khóa O(n^2) vì không phải trả chi phí heap
+public class Prim implements HeadlessAlgorithm<SpanningTreeResult> {
+    private static final int NO_ARC = -1;
+
+    private final GraphSnapshot g;
+    private final int start;
+    private SpanningTreeResult result;
+
+    private boolean[] inTree;
+    // Cung rẻ nhất nối mỗi đỉnh ngoài cây với cây hiện tại
+    private int[] bestArc;
+    private int[] parent;
+    private int[] treeEdges;
+    private int edgesCount;
+    private long totalWeight;
+
+    public Prim(Graph graph, int start) {
+        this(graph.snapshot(), start);
+    }
+
+    public Prim(GraphSnapshot g, int start) {
+        this.g = g;
+        this.start = start;
+    }
+
+    // Cùng ngưỡng với All-Pairs: từ khoảng n^2 / 8 cung trở lên thì quét mảng rẻ hơn heap
+    static boolean isDense(GraphSnapshot g) {
+        long n = g.vertexCount();
+        return (long) g.arcCount() * 8 >= n * n;
+    }
+
+    @Override
+    public void run(StepSink sink) {
+        int n = g.vertexCount();
+        inTree = new boolean[n + 1];
+        bestArc = new int[n + 1];
+        Arrays.fill(bestArc, NO_ARC);
+        parent = new int[n + 1];
+        treeEdges = new int[Math.max(n - 1, 0)];
+        edgesCount = 0;
+        totalWeight = 0;
+
+        if (isDense(g)) runDense(sink);
+        else runHeap(sink);
+
+        result = new SpanningTreeResult(Arrays.copyOf(treeEdges, edgesCount), totalWeight);
+        inTree = null;
+        bestArc = null;
+        parent = null;
+        treeEdges = null;
+    }
+
+    @Override
+    public SpanningTreeResult getResult() {
+        return result;
+    }
+
+    private void runHeap(StepSink sink) {
+        int n = g.vertexCount();
+        IndexedMinHeap heap = new IndexedMinHeap(n + 1);
+
+        int root = start >= 1 && start <= n ? start : 1;
+        for (int i = 0; i < n; i++, root = root % n + 1) {
+            if (inTree[root]) continue;
+            heap.insert(root, 0);
+
+            while (!heap.isEmpty()) {
+                sink.checkCancelled();
+                int u = heap.poll();
+                add(u, sink);
+
+                for (int a = g.begin(u), end = g.end(u); a < end; a++) {
+                    int v = g.target(a);
+                    if (inTree[v]) continue;
+                    if (sink != StepSink.NONE) sink.emit(AlgoStep.Type.EXPLORE_EDGE, u, v);
+
+                    if (heap.push(v, g.weight(a))) {
+                        bestArc[v] = a;
+                        parent[v] = u;
+                    }
+                }
+            }
+        }
+    }
+
+    private void runDense(StepSink sink) {
+        int n = g.vertexCount();
+        int[] key = new int[n + 1];
+        Arrays.fill(key, Integer.MAX_VALUE);
+
+        int next = start >= 1 && start <= n ? start : 1;
+        for (int added = 0; added < n; added++) {
+            sink.checkCancelled();
+            int u = next;
+            add(u, sink);
+
+            for (int a = g.begin(u), end = g.end(u); a < end; a++) {
+                int v = g.target(a);
+                if (inTree[v]) continue;
+                if (sink != StepSink.NONE) sink.emit(AlgoStep.Type.EXPLORE_EDGE, u, v);
+
+                if (bestArc[v] == NO_ARC || g.weight(a) < key[v]) {
+                    key[v] = g.weight(a);
+                    bestArc[v] = a;
+                    parent[v] = u;
+                }
+            }
+
+            // Đỉnh ngoài cây có khóa nhỏ nhất; không còn cạnh nối thì sang thành phần mới
+            next = -1;
+            int fallback = -1;
+            for (int v = 1; v <= n; v++) {
+                if (inTree[v]) continue;
+                if (bestArc[v] == NO_ARC) {
+                    if (fallback < 0) fallback = v;
+                } else if (next < 0 || key[v] < key[next]) {
+                    next = v;
+                }
+            }
+            if (next < 0) next = fallback;
+        }
+    }
+
+    private void add(int v, StepSink sink) {
+        inTree[v] = true;
+        int a = bestArc[v];
+
+        if (a == NO_ARC) {
+            if (sink != StepSink.NONE) sink.emit(AlgoStep.Type.HIGHLIGHT_NODE, v, -1);
+            return;
+        }
+
+        if (sink != StepSink.NONE) {
+            sink.emit(AlgoStep.Type.HIGHLIGHT_PATH, parent[v], v);
+            sink.emit(AlgoStep.Type.HIGHLIGHT_NODE, v, -1);
+        }
+        treeEdges[edgesCount++] = g.edgeOf(a);
+        totalWeight += g.weight(a);
+    }
+}
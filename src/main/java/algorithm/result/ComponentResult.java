@@ -0,0 +1,19 @@
+package algorithm.result;
+
+public class ComponentResult {
+    public final int[] componentOf;
+    public final int componentCount;
+
+    public ComponentResult(int[] componentOf, int componentCount) {
+        this.componentOf = componentOf;
+        this.componentCount = componentCount;
+    }
+
+    public int[] componentSizes() {
+        int[] sizes = new int[componentCount];
+        for (int v = 1; v < componentOf.length; v++) {
+            if (componentOf[v] >= 0) sizes[componentOf[v]]++;
+        }
+        return sizes;
+    }
+}
@@ -0,0 +1,33 @@
+package algorithm.result;
+
+import java.util.Arrays;
+
+public class DistanceMatrix {
+    public static final int UNREACHABLE = ShortestPathResult.UNREACHABLE;
+
+    private final int n;
+    // d(i, j) nằm ở dist[i * (n + 1) + j] với i, j = 1..n; hàng và cột 0 không dùng
+    private final int[] dist;
+
+    public DistanceMatrix(int n, int[] dist) {
+        this.n = n;
+        this.dist = dist;
+    }
+
+    public int vertexCount() {
+        return n;
+    }
+
+    public int get(int i, int j) {
+        return dist[i * (n + 1) + j];
+    }
+
+    public boolean isReachable(int i, int j) {
+        return get(i, j) != UNREACHABLE;
+    }
+
+    public int[] row(int i) {
+        int base = i * (n + 1);
+        return Arrays.copyOfRange(dist, base, base + n + 1);
+    }
+}
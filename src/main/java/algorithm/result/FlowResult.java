@@ -0,0 +1,11 @@
+package algorithm.result;
+
+public class FlowResult {
+    public final int maxFlow;
+    public final int[] edgeFlow;
+
+    public FlowResult(int maxFlow, int[] edgeFlow) {
+        this.maxFlow = maxFlow;
+        this.edgeFlow = edgeFlow;
+    }
+}
@@ -0,0 +1,120 @@
+package algorithm.result;
+
+import java.util.Arrays;
+
+public class HopDistanceTable {
+    public static final int UNREACHABLE = -1;
+    public static final int BATCH = 64;
+
+    private final int[] sources;
+    private final int stride;
+    private final Block[] blocks;
+
+    public HopDistanceTable(int[] sources, int n, Block[] blocks) {
+        this.sources = sources;
+        this.stride = n + 1;
+        this.blocks = blocks;
+    }
+
+    public int sourceCount() {
+        return sources.length;
+    }
+
+    public int source(int index) {
+        return sources[index];
+    }
+
+    public int vertexCount() {
+        return stride - 1;
+    }
+
+    // Số cạnh ít nhất từ nguồn thứ index tới v
+    public int get(int index, int v) {
+        return blocks[index / BATCH].get((index % BATCH) * stride + v);
+    }
+
+    public int[] row(int index) {
+        int[] row = new int[stride];
+        for (int v = 0; v < stride; v++) row[v] = get(index, v);
+        return row;
+    }
+
+    public int eccentricity(int index) {
+        int max = 0;
+        for (int v = 1; v < stride; v++) max = Math.max(max, get(index, v));
+        return max;
+    }
+
+    // Tổng khoảng cách tới các đỉnh tới được, dùng cho closeness centrality
+    public long totalDistance(int index) {
+        long sum = 0;
+        for (int v = 1; v < stride; v++) {
+            int d = get(index, v);
+            if (d > 0) sum += d;
+        }
+        return sum;
+    }
+
+    public int reachableCount(int index) {
+        int count = 0;
+        for (int v = 1; v < stride; v++) {
+            if (get(index, v) != UNREACHABLE) count++;
+        }
+        return count;
+    }
+
+    // Khoảng cách của một lô BATCH nguồn; ô bắt đầu 1 byte và chỉ nới lên 2 hoặc 4 byte khi số hop vượt quá.
+    // Mỗi khối chỉ được một luồng ghi.
+    public static final class Block {
+        private static final int NARROW_MAX = 0xFE;
+        private static final int MEDIUM_MAX = 0xFFFE;
+
+        private byte[] narrow;
+        private char[] medium;
+        private int[] wide;
+
+        public Block(int size) {
+            narrow = new byte[size];
+            Arrays.fill(narrow, (byte) 0xFF);
+        }
+
+        public void set(int index, int hops) {
+            if (narrow != null) {
+                if (hops <= NARROW_MAX) {
+                    narrow[index] = (byte) hops;
+                    return;
+                }
+                medium = new char[narrow.length];
+                for (int i = 0; i < narrow.length; i++) {
+                    int b = narrow[i] & 0xFF;
+                    medium[i] = b == 0xFF ? (char) 0xFFFF : (char) b;
+                }
+                narrow = null;
+            }
+            if (medium != null) {
+                if (hops <= MEDIUM_MAX) {
+                    medium[index] = (char) hops;
+                    return;
+                }
+                wide = new int[medium.length];
+                for (int i = 0; i < medium.length; i++) {
+                    wide[i] = medium[i] == 0xFFFF ? UNREACHABLE : medium[i];
+                }
+                medium = null;
+            }
+            wide[index] = hops;
+        }
+
+        int get(int index) {
+            if (narrow != null) {
+                int b = narrow[index] & 0xFF;
+                return b == 0xFF ? UNREACHABLE : b;
+            }
+            if (medium != null) {
+                char c = medium[index];
+                return c == 0xFFFF ? UNREACHABLE : c;
+            }
+            return wide[index];
+        }
+    }
+}
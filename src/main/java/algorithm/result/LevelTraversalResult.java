@@ -0,0 +1,17 @@
+package algorithm.result;
+
+public class LevelTraversalResult extends TraversalResult {
+    // Số cạnh (hop) từ start, -1 nếu không tới được
+    public final int[] level;
+
+    public LevelTraversalResult(int start, int[] order, int[] parent, int[] level) {
+        super(start, order, parent);
+        this.level = level;
+    }
+
+    public int levelCount() {
+        int max = -1;
+        for (int l : level) max = Math.max(max, l);
+        return max + 1;
+    }
+}
@@ -0,0 +1,46 @@
+package algorithm.result;
+
+import java.util.Arrays;
+
+public class ShortestPathResult {
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    public final int source;
+    public final int target;
+    public final int[] dist;
+    public final int[] parent;
+
+    public ShortestPathResult(int source, int target, int[] dist, int[] parent) {
+        this.source = source;
+        this.target = target;
+        this.dist = dist;
+        this.parent = parent;
+    }
+
+    public boolean isReachable(int v) {
+        return dist[v] != UNREACHABLE;
+    }
+
+    public int[] pathTo(int v) {
+        if (!isReachable(v)) return new int[0];
+
+        int[] path = new int[dist.length];
+        int len = 0;
+        for (int curr = v; curr != -1; curr = parent[curr]) {
+            path[len++] = curr;
+        }
+        int[] result = new int[len];
+        for (int i = 0; i < len; i++) result[i] = path[len - 1 - i];
+        return result;
+    }
+
+    public int[] path() {
+        return target < 0 ? new int[0] : pathTo(target);
+    }
+
+    @Override
+    public String toString() {
+        return "ShortestPathResult{source=" + source + ", target=" + target
+                + ", path=" + Arrays.toString(path()) + "}";
+    }
+}
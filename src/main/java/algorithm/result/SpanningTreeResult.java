@@ -0,0 +1,11 @@
+package algorithm.result;
+
+public class SpanningTreeResult {
+    public final int[] edges;
+    public final long totalWeight;
+
+    public SpanningTreeResult(int[] edges, long totalWeight) {
+        this.edges = edges;
+        this.totalWeight = totalWeight;
+    }
+}
@@ -0,0 +1,17 @@
+package algorithm.result;
+
+public class TraversalResult {
+    public final int start;
+    public final int[] order;
+    public final int[] parent;
+
+    public TraversalResult(int start, int[] order, int[] parent) {
+        this.start = start;
+        this.order = order;
+        this.parent = parent;
+    }
+
+    public boolean isReached(int v) {
+        return v == start || parent[v] != -1;
+    }
+}
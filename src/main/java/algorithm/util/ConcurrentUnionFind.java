@@ -0,0 +1,52 @@
+package algorithm.util;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// Union-find không khóa: gốc lớn hơn luôn được móc vào gốc nhỏ hơn bằng CAS, nên con trỏ cha chỉ giảm dần,
+// không thể tạo chu trình và gốc của mỗi tập luôn là phần tử nhỏ nhất. Path halving cũng dùng CAS
+// để không ghi đè một liên kết mới hơn của luồng khác
+public class ConcurrentUnionFind {
+    private final AtomicIntegerArray parent;
+
+    // phần tử hợp lệ: 0..n
+    public ConcurrentUnionFind(int n) {
+        parent = new AtomicIntegerArray(n + 1);
+        for (int i = 0; i <= n; i++) parent.set(i, i);
+    }
+
+    public int find(int x) {
+        while (true) {
+            int p = parent.get(x);
+            if (p == x) return x;
+            int gp = parent.get(p);
+            if (gp != p) parent.compareAndSet(x, p, gp);
+            x = gp;
+        }
+    }
+
+    // Trả về false nếu a và b đã cùng tập
+    public boolean union(int a, int b) {
+        while (true) {
+            int ra = find(a);
+            int rb = find(b);
+            if (ra == rb) return false;
+            if (ra < rb) {
+                int tmp = ra;
+                ra = rb;
+                rb = tmp;
+            }
+            // ra có thể vừa bị luồng khác móc đi, khi đó CAS thất bại và thử lại từ đầu
+            if (parent.compareAndSet(ra, ra, rb)) return true;
+        }
+    }
+
+    public boolean connected(int a, int b) {
+        while (true) {
+            int ra = find(a);
+            int rb = find(b);
+            if (ra == rb) return true;
+            // ra vẫn là gốc thì hai tập thực sự khác nhau tại thời điểm này
+            if (parent.get(ra) == ra) return false;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package algorithm.util;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+public class IndexedMinHeap {
+    private static final int ARITY = 4;
+
+    private final int[] heap;
+    private final int[] pos;
+    private final double[] keys;
+    private int size;
+
+    // id hợp lệ: 0..capacity-1
+    public IndexedMinHeap(int capacity) {
+        heap = new int[capacity];
+        pos = new int[capacity];
+        keys = new double[capacity];
+        Arrays.fill(pos, -1);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int id) {
+        return pos[id] >= 0;
+    }
+
+    public double key(int id) {
+        return keys[id];
+    }
+
+    public void insert(int id, double key) {
+        if (contains(id)) throw new IllegalArgumentException("Đã có trong heap: " + id);
+        keys[id] = key;
+        heap[size] = id;
+        pos[id] = size;
+        siftUp(size++);
+    }
+
+    public void decreaseKey(int id, double key) {
+        if (!contains(id)) throw new IllegalArgumentException("Không có trong heap: " + id);
+        if (key > keys[id]) throw new IllegalArgumentException("Khóa mới lớn hơn khóa cũ: " + id);
+        keys[id] = key;
+        siftUp(pos[id]);
+    }
+
+    // Thêm mới hoặc giảm khóa; trả về false nếu khóa hiện tại đã nhỏ hơn hoặc bằng
+    public boolean push(int id, double key) {
+        if (!contains(id)) {
+            insert(id, key);
+            return true;
+        }
+        if (key < keys[id]) {
+            decreaseKey(id, key);
+            return true;
+        }
+        return false;
+    }
+
+    public int peek() {
+        if (size == 0) throw new NoSuchElementException();
+        return heap[0];
+    }
+
+    public double peekKey() {
+        return keys[peek()];
+    }
+
+    public int poll() {
+        int top = peek();
+        int last = heap[--size];
+        pos[top] = -1;
+        if (size > 0) {
+            heap[0] = last;
+            pos[last] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) pos[heap[i]] = -1;
+        size = 0;
+    }
+
+    private void siftUp(int i) {
+        int id = heap[i];
+        double key = keys[id];
+        while (i > 0) {
+            int parent = (i - 1) / ARITY;
+            int p = heap[parent];
+            if (keys[p] <= key) break;
+            heap[i] = p;
+            pos[p] = i;
+            i = parent;
+        }
+        heap[i] = id;
+        pos[id] = i;
+    }
+
+    private void siftDown(int i) {
+        int id = heap[i];
+        double key = keys[id];
+        while (true) {
+            int first = ARITY * i + 1;
+            if (first >= size) break;
+
+            int best = first;
+            double bestKey = keys[heap[first]];
+            int last = Math.min(first + ARITY, size);
+            for (int c = first + 1; c < last; c++) {
+                double k = keys[heap[c]];
+                if (k < bestKey) {
+                    best = c;
+                    bestKey = k;
+                }
+            }
+            if (bestKey >= key) break;
+
+            heap[i] = heap[best];
+            pos[heap[i]] = i;
+            i = best;
+        }
+        heap[i] = id;
+        pos[id] = i;
+    }
+}
@@ -0,0 +1,77 @@
+package algorithm.util;
+
+import model.GraphSnapshot;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.function.Function;
+
+// Mỗi lần đồ thị thay đổi sẽ sinh snapshot mới, nên snapshot đóng vai trò "phiên bản" của đồ thị.
+// Giá trị không được giữ tham chiếu tới snapshot, nếu không entry sẽ không bao giờ bị thu hồi.
+// Khóa chỉ bảo vệ map: việc tính chạy ngoài khóa ở luồng gọi đầu tiên, các luồng khác cùng snapshot chờ kết quả đó
+public final class SnapshotCache<V> {
+    private final Map<GraphSnapshot, FutureTask<V>> entries = new WeakHashMap<>();
+    private final Function<GraphSnapshot, V> loader;
+
+    public SnapshotCache(Function<GraphSnapshot, V> loader) {
+        this.loader = loader;
+    }
+
+    public V get(GraphSnapshot g) {
+        return get(g, loader);
+    }
+
+    // Loader riêng cho lần gọi này (ví dụ bản kiểm tra hủy); kết quả vẫn dùng chung cho mọi lần gọi sau
+    public V get(GraphSnapshot g, Function<GraphSnapshot, V> loader) {
+        while (true) {
+            FutureTask<V> task;
+            boolean owner = false;
+            synchronized (this) {
+                task = entries.get(g);
+                if (task == null) {
+                    // FutureTask bỏ callable sau khi chạy xong nên không giữ snapshot lâu hơn cần thiết
+                    task = new FutureTask<>(() -> loader.apply(g));
+                    entries.put(g, task);
+                    owner = true;
+                }
+            }
+            if (owner) task.run();
+
+            try {
+                return task.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException();
+            } catch (ExecutionException e) {
+                remove(g, task);
+                Throwable cause = e.getCause();
+                // Lần tính của luồng khác bị hủy thì luồng này tự tính lại
+                if (!owner && cause instanceof CancellationException) continue;
+                if (cause instanceof RuntimeException re) throw re;
+                if (cause instanceof Error err) throw err;
+                throw new IllegalStateException(cause);
+            }
+        }
+    }
+
+    // Không bao giờ chờ: trả về null nếu chưa có hoặc vẫn đang tính
+    public V getIfPresent(GraphSnapshot g) {
+        FutureTask<V> task;
+        synchronized (this) {
+            task = entries.get(g);
+        }
+        return task != null && task.state() == Future.State.SUCCESS ? task.resultNow() : null;
+    }
+
+    public synchronized void invalidate(GraphSnapshot g) {
+        entries.remove(g);
+    }
+
+    private synchronized void remove(GraphSnapshot g, FutureTask<V> task) {
+        if (entries.get(g) == task) entries.remove(g);
+    }
+}
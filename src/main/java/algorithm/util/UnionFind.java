@@ -0,0 +1,56 @@
+package algorithm.util;
+
+// Disjoint-set hợp theo kích thước, find dùng path halving (không đệ quy nên không tràn stack trên chuỗi dài)
+public class UnionFind {
+    private final int[] parent;
+    private final int[] size;
+    private int sets;
+
+    // phần tử hợp lệ: 0..n
+    public UnionFind(int n) {
+        parent = new int[n + 1];
+        size = new int[n + 1];
+        for (int i = 0; i <= n; i++) {
+            parent[i] = i;
+            size[i] = 1;
+        }
+        sets = n + 1;
+    }
+
+    public int find(int x) {
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+        }
+        return x;
+    }
+
+    public boolean connected(int a, int b) {
+        return find(a) == find(b);
+    }
+
+    // Trả về false nếu a và b đã cùng tập
+    public boolean union(int a, int b) {
+        int ra = find(a);
+        int rb = find(b);
+        if (ra == rb) return false;
+
+        if (size[ra] < size[rb]) {
+            int tmp = ra;
+            ra = rb;
+            rb = tmp;
+        }
+        parent[rb] = ra;
+        size[ra] += size[rb];
+        sets--;
+        return true;
+    }
+
+    public int sizeOf(int x) {
+        return size[find(x)];
+    }
+
+    public int setCount() {
+        return sets;
+    }
+}
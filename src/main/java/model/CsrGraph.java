@@ -0,0 +1,174 @@
+package model;
+
+public final class CsrGraph implements GraphSnapshot {
+    private final int n;
+    private final boolean directed;
+    private final boolean weighted;
+
+    // Cung (arc) của đỉnh u nằm trong [offsets[u], offsets[u + 1]), đã sắp theo đỉnh đích
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] weights;
+    private final int[] arcEdges;
+
+    // Danh sách cạnh gốc, cùng thứ tự với Graph.getEdges()
+    private final int[] edgeFrom;
+    private final int[] edgeTo;
+    private final int[] edgeWeights;
+
+    private volatile CsrGraph reverse;
+
+    private CsrGraph(int n, boolean directed, boolean weighted,
+                     int[] offsets, int[] targets, int[] weights, int[] arcEdges,
+                     int[] edgeFrom, int[] edgeTo, int[] edgeWeights) {
+        this.n = n;
+        this.directed = directed;
+        this.weighted = weighted;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.arcEdges = arcEdges;
+        this.edgeFrom = edgeFrom;
+        this.edgeTo = edgeTo;
+        this.edgeWeights = edgeWeights;
+    }
+
+    public static CsrGraph fromEdges(int n, boolean directed, boolean weighted,
+                                     int[] edgeFrom, int[] edgeTo, int[] edgeWeights) {
+        int m = edgeFrom.length;
+        int arcCount = directed ? m : 2 * m;
+
+        int[] arcFrom = new int[arcCount];
+        int[] arcTo = new int[arcCount];
+        int[] arcEdge = new int[arcCount];
+        int k = 0;
+        for (int e = 0; e < m; e++) {
+            arcFrom[k] = edgeFrom[e];
+            arcTo[k] = edgeTo[e];
+            arcEdge[k++] = e;
+            if (!directed) {
+                arcFrom[k] = edgeTo[e];
+                arcTo[k] = edgeFrom[e];
+                arcEdge[k++] = e;
+            }
+        }
+
+        // Counting sort ổn định theo đích, rồi theo nguồn => mỗi hàng đã sắp theo đích
+        int[] byTarget = countingOrder(arcTo, null, n);
+        int[] order = countingOrder(arcFrom, byTarget, n);
+
+        int[] offsets = new int[n + 2];
+        for (int i = 0; i < arcCount; i++) offsets[arcFrom[i] + 1]++;
+        for (int u = 1; u <= n + 1; u++) offsets[u] += offsets[u - 1];
+
+        int[] targets = new int[arcCount];
+        int[] weights = new int[arcCount];
+        int[] arcEdges = new int[arcCount];
+        for (int i = 0; i < arcCount; i++) {
+            int a = order[i];
+            targets[i] = arcTo[a];
+            arcEdges[i] = arcEdge[a];
+            weights[i] = edgeWeights[arcEdge[a]];
+        }
+
+        return new CsrGraph(n, directed, weighted, offsets, targets, weights, arcEdges,
+                edgeFrom, edgeTo, edgeWeights);
+    }
+
+    static int[] countingOrder(int[] keys, int[] input, int n) {
+        int size = keys.length;
+        int[] count = new int[n + 2];
+        for (int key : keys) count[key + 1]++;
+        for (int i = 1; i <= n + 1; i++) count[i] += count[i - 1];
+
+        int[] out = new int[size];
+        for (int i = 0; i < size; i++) {
+            int idx = input == null ? i : input[i];
+            out[count[keys[idx]]++] = idx;
+        }
+        return out;
+    }
+
+    @Override
+    public int vertexCount() {
+        return n;
+    }
+
+    @Override
+    public int arcCount() {
+        return targets.length;
+    }
+
+    @Override
+    public int edgeCount() {
+        return edgeFrom.length;
+    }
+
+    @Override
+    public boolean isDirected() {
+        return directed;
+    }
+
+    @Override
+    public boolean isWeighted() {
+        return weighted;
+    }
+
+    @Override
+    public int begin(int u) {
+        return offsets[u];
+    }
+
+    @Override
+    public int end(int u) {
+        return offsets[u + 1];
+    }
+
+    @Override
+    public int degree(int u) {
+        return offsets[u + 1] - offsets[u];
+    }
+
+    @Override
+    public int target(int arc) {
+        return targets[arc];
+    }
+
+    @Override
+    public int weight(int arc) {
+        return weights[arc];
+    }
+
+    @Override
+    public int edgeOf(int arc) {
+        return arcEdges[arc];
+    }
+
+    @Override
+    public int edgeFrom(int e) {
+        return edgeFrom[e];
+    }
+
+    @Override
+    public int edgeTo(int e) {
+        return edgeTo[e];
+    }
+
+    @Override
+    public int edgeWeight(int e) {
+        return edgeWeights[e];
+    }
+
+    @Override
+    public CsrGraph reverse() {
+        if (!directed) return this;
+
+        CsrGraph r = reverse;
+        if (r == null) {
+            r = fromEdges(n, true, weighted, edgeTo, edgeFrom, edgeWeights);
+            r.reverse = this;
+            reverse = r;
+        }
+        return r;
+    }
+}
@@ -0,0 +1,80 @@
+package model;
+
+import java.util.Arrays;
+
+class EdgeIndex {
+    private static final float LOAD_FACTOR = 0.5f;
+
+    // Khóa = from << 32 | to; id đỉnh luôn >= 1 nên khóa 0 đánh dấu ô trống
+    private long[] keys;
+    private Edge[] values;
+    private int size;
+    private int mask;
+
+    EdgeIndex() {
+        allocate(16);
+    }
+
+    static long key(int from, int to) {
+        return ((long) from << 32) | (to & 0xFFFFFFFFL);
+    }
+
+    Edge get(int from, int to) {
+        long k = key(from, to);
+        for (int i = slot(k); ; i = (i + 1) & mask) {
+            long cur = keys[i];
+            if (cur == k) return values[i];
+            if (cur == 0) return null;
+        }
+    }
+
+    void put(int from, int to, Edge edge) {
+        long k = key(from, to);
+        int i = slot(k);
+        while (keys[i] != 0) {
+            if (keys[i] == k) {
+                values[i] = edge;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = k;
+        values[i] = edge;
+        if (++size > keys.length * LOAD_FACTOR) rehash();
+    }
+
+    void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int slot(long k) {
+        long h = k * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Edge[capacity];
+        mask = capacity - 1;
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        Edge[] oldValues = values;
+        allocate(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            long k = oldKeys[i];
+            if (k == 0) continue;
+            int j = slot(k);
+            while (keys[j] != 0) j = (j + 1) & mask;
+            keys[j] = k;
+            values[j] = oldValues[i];
+        }
+    }
+}
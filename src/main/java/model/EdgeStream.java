@@ -0,0 +1,62 @@
+package model;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Nguồn cạnh đọc lại được: mỗi lần forEach phải phát đúng cùng một dãy cạnh (u, v, w).
+// Dùng để ghi đồ thị ra file mà không cần giữ toàn bộ danh sách cạnh trên heap
+@FunctionalInterface
+public interface EdgeStream {
+    void forEach(IntTripleConsumer sink) throws IOException;
+
+    // File cùng định dạng với "Mở File": dòng đầu là số đỉnh, mỗi dòng sau là "u v [w]".
+    // Đọc tuần tự từng dòng mỗi lần duyệt, bộ nhớ không phụ thuộc kích thước file
+    static EdgeStream fromEdgeList(Path file, boolean weighted) {
+        return sink -> {
+            try (BufferedReader reader = Files.newBufferedReader(file)) {
+                reader.readLine();
+                String line;
+                int[] parts = new int[3];
+                while ((line = reader.readLine()) != null) {
+                    int count = parseInts(line, parts);
+                    if (count < 2) continue;
+                    sink.accept(parts[0], parts[1], weighted && count >= 3 ? parts[2] : 1);
+                }
+            }
+        };
+    }
+
+    static int vertexCountOf(Path file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            String first = reader.readLine();
+            if (first == null) throw new IOException("File rỗng: " + file);
+            return Integer.parseInt(first.trim());
+        }
+    }
+
+    // Tách tối đa out.length số nguyên cách nhau bởi khoảng trắng, không tạo chuỗi con
+    private static int parseInts(String line, int[] out) {
+        int count = 0;
+        int i = 0;
+        int len = line.length();
+        while (count < out.length) {
+            while (i < len && Character.isWhitespace(line.charAt(i))) i++;
+            if (i == len) break;
+
+            boolean negative = line.charAt(i) == '-';
+            if (negative) i++;
+            int start = i;
+            int value = 0;
+            while (i < len && !Character.isWhitespace(line.charAt(i))) {
+                char c = line.charAt(i++);
+                if (c < '0' || c > '9') throw new NumberFormatException("Không phải số nguyên: " + line);
+                value = value * 10 + (c - '0');
+            }
+            if (i == start) throw new NumberFormatException("Không phải số nguyên: " + line);
+            out[count++] = negative ? -value : value;
+        }
+        return count;
+    }
+}
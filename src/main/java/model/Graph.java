@@ -3,13 +3,19 @@ package model;
 import java.util.*;
 
 public class Graph {
-    private Map<Integer, Vertex> vertexMap = new HashMap<>();
-    private Map<Integer, List<Edge>> adjacencyList = new HashMap<>();
+    // Id đỉnh luôn là 1..n nên lưu trực tiếp theo chỉ số, ô 0 bỏ trống
+    private Vertex[] vertices = new Vertex[1];
+    private List<Edge>[] adjacencyList = newAdjacency(0);
+    private List<Vertex> vertexView = List.of();
+    private int n;
     private List<Edge> allEdges = new ArrayList<>();
+    private EdgeIndex edgeIndex = new EdgeIndex();
 
     private boolean directed = false;
     private boolean weighted = false;
 
+    private PendingSnapshot snapshot;
+
     public Graph() {
     }
 
@@ -19,13 +25,21 @@ public class Graph {
     }
 
     public int vertexCount() {
-        return vertexMap.size();
+        return n;
     }
 
     public void createVertices(int n) {
-        vertexMap.clear();
-        adjacencyList.clear();
+        createVertices(n, null);
+    }
+
+    private void createVertices(int n, CsrGraph sizing) {
+        this.n = n;
+        vertices = new Vertex[n + 1];
+        adjacencyList = newAdjacency(n);
+        vertexView = Collections.unmodifiableList(Arrays.asList(vertices).subList(1, n + 1));
         allEdges.clear();
+        edgeIndex.clear();
+        snapshot = null;
 
         double cx = 350;
         double cy = 250;
@@ -37,50 +51,78 @@ public class Graph {
             double y = cy + r * Math.sin(angle);
 
             Vertex v = new Vertex(i, x, y);
-            vertexMap.put(i, v);
-            adjacencyList.put(i, new ArrayList<>());
+            vertices[i] = v;
+            adjacencyList[i] = sizing == null ? new ArrayList<>() : new ArrayList<>(sizing.degree(i));
         }
     }
 
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static List<Edge>[] newAdjacency(int n) {
+        return new List[n + 1];
+    }
+
+    private boolean contains(int id) {
+        return id >= 1 && id <= n;
+    }
+
     public void addEdge(int u, int v, int weight) {
-        if (!vertexMap.containsKey(u) || !vertexMap.containsKey(v)) return;
+        if (!contains(u) || !contains(v)) return;
 
         int w = isWeighted() ? weight : 1;
+        snapshot = null;
 
-        for (Edge e : adjacencyList.get(u)) {
-            if (e.to == v) {
-                e.weight = w;
+        Edge existing = edgeIndex.get(u, v);
+        if (existing != null) {
+            existing.weight = w;
 
-                if (!directed) {
-                    updateReverseEdgeWeight(v, u, w);
-                }
-                return;
+            if (!directed) {
+                edgeIndex.get(v, u).weight = w;
             }
+            return;
         }
 
         Edge edgeUV = new Edge(u, v, w);
-        adjacencyList.get(u).add(edgeUV);
+        adjacencyList[u].add(edgeUV);
         allEdges.add(edgeUV);
+        edgeIndex.put(u, v, edgeUV);
 
         if (!directed) {
             Edge edgeVU = new Edge(v, u, w);
-            adjacencyList.get(v).add(edgeVU);
+            adjacencyList[v].add(edgeVU);
+            if (u != v) edgeIndex.put(v, u, edgeVU);
         }
     }
 
-    private void updateReverseEdgeWeight(int u, int v, int w) {
-        for (Edge e : adjacencyList.get(u)) {
-            if (e.to == v) {
-                e.weight = w;
-                return;
+    void load(int n, int[] from, int[] to, int[] weights, CsrGraph csr) {
+        createVertices(n, csr);
+        ((ArrayList<Edge>) allEdges).ensureCapacity(from.length);
+
+        for (int i = 0; i < from.length; i++) {
+            int u = from[i], v = to[i], w = weights[i];
+
+            Edge edgeUV = new Edge(u, v, w);
+            adjacencyList[u].add(edgeUV);
+            allEdges.add(edgeUV);
+            edgeIndex.put(u, v, edgeUV);
+
+            if (!directed) {
+                Edge edgeVU = new Edge(v, u, w);
+                adjacencyList[v].add(edgeVU);
+                if (u != v) edgeIndex.put(v, u, edgeVU);
             }
         }
+
+        snapshot = new PendingSnapshot(csr);
     }
 
     public void clear() {
-        vertexMap.clear();
-        adjacencyList.clear();
+        n = 0;
+        vertices = new Vertex[1];
+        adjacencyList = newAdjacency(0);
+        vertexView = List.of();
         allEdges.clear();
+        edgeIndex.clear();
+        snapshot = null;
     }
 
     public void resetFlow() {
@@ -89,6 +131,17 @@ public class Graph {
         }
     }
 
+    // Luồng hiện tại theo chỉ số cạnh (cùng thứ tự với getEdges và snapshot)
+    public int[] flows() {
+        int[] flow = new int[allEdges.size()];
+        for (int e = 0; e < flow.length; e++) flow[e] = allEdges.get(e).currentFlow;
+        return flow;
+    }
+
+    public void applyFlows(int[] flow) {
+        for (int e = 0; e < flow.length && e < allEdges.size(); e++) allEdges.get(e).currentFlow = flow[e];
+    }
+
     public boolean isDirected() {
         return directed;
     }
@@ -106,16 +159,42 @@ public class Graph {
         return true;
     }
 
+    public CsrGraph snapshot() {
+        return pendingSnapshot().get();
+    }
+
+    // Chỉ chép ba cột cạnh (O(m), không sắp xếp) nên gọi ở luồng giao diện được; dựng CSR bằng get() ở luồng nền
+    public PendingSnapshot pendingSnapshot() {
+        if (snapshot == null) {
+            int m = allEdges.size();
+            int[] from = new int[m];
+            int[] to = new int[m];
+            int[] w = new int[m];
+            for (int i = 0; i < m; i++) {
+                Edge e = allEdges.get(i);
+                from[i] = e.from;
+                to[i] = e.to;
+                w[i] = e.weight;
+            }
+            snapshot = new PendingSnapshot(vertexCount(), directed, weighted, from, to, w);
+        }
+        return snapshot;
+    }
+
     public List<Edge> getAdj(int u) {
-        return adjacencyList.getOrDefault(u, Collections.emptyList());
+        return contains(u) ? adjacencyList[u] : Collections.emptyList();
+    }
+
+    public Edge getEdge(int u, int v) {
+        return edgeIndex.get(u, v);
     }
 
     public Vertex getVertex(int id) {
-        return vertexMap.get(id);
+        return contains(id) ? vertices[id] : null;
     }
 
     public List<Vertex> getVertices() {
-        return new ArrayList<>(vertexMap.values());
+        return vertexView;
     }
 
     public List<Edge> getEdges() {
@@ -0,0 +1,154 @@
+package model;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+public class GraphBuilder implements IntTripleConsumer {
+    private final boolean directed;
+    private final boolean weighted;
+    private final int n;
+
+    private int[] from;
+    private int[] to;
+    private int[] weights;
+    private int size;
+
+    public GraphBuilder(GraphConfig config, int vertexCount) {
+        this(config.directed, config.weighted, vertexCount);
+    }
+
+    public GraphBuilder(boolean directed, boolean weighted, int vertexCount) {
+        this.directed = directed;
+        this.weighted = weighted;
+        this.n = vertexCount;
+        this.from = new int[16];
+        this.to = new int[16];
+        this.weights = new int[16];
+    }
+
+    @Override
+    public void accept(int u, int v, int weight) {
+        addEdge(u, v, weight);
+    }
+
+    public GraphBuilder addEdge(int u, int v, int weight) {
+        if (u < 1 || u > n || v < 1 || v > n) return this;
+
+        ensureCapacity(size + 1);
+        from[size] = u;
+        to[size] = v;
+        weights[size] = weighted ? weight : 1;
+        size++;
+        return this;
+    }
+
+    public GraphBuilder addEdges(int[] us, int[] vs, int[] ws) {
+        if (us.length != vs.length || (ws != null && ws.length != us.length)) {
+            throw new IllegalArgumentException("Các mảng cạnh không cùng độ dài");
+        }
+        ensureCapacity(size + us.length);
+        for (int i = 0; i < us.length; i++) {
+            addEdge(us[i], vs[i], ws == null ? 1 : ws[i]);
+        }
+        return this;
+    }
+
+    public int vertexCount() {
+        return n;
+    }
+
+    public int pendingEdgeCount() {
+        return size;
+    }
+
+    public CsrGraph buildSnapshot() {
+        int[][] edges = deduplicate();
+        return CsrGraph.fromEdges(n, directed, weighted, edges[0], edges[1], edges[2]);
+    }
+
+    public Graph build() {
+        Graph graph = new Graph(new GraphConfig(directed, weighted));
+        buildInto(graph);
+        return graph;
+    }
+
+    public void buildInto(Graph graph) {
+        if (graph.isDirected() != directed || graph.isWeighted() != weighted) {
+            throw new IllegalArgumentException("Cấu hình đồ thị không khớp với GraphBuilder");
+        }
+        int[][] edges = deduplicate();
+        CsrGraph csr = CsrGraph.fromEdges(n, directed, weighted, edges[0], edges[1], edges[2]);
+        graph.load(n, edges[0], edges[1], edges[2], csr);
+    }
+
+    // Cạnh đã gộp được ghi thẳng ra file ánh xạ, không dựng CSR trên heap (xem MappedGraph.write)
+    public void writeMapped(Path file) throws IOException {
+        int[][] edges = deduplicate();
+        MappedGraph.write(file, n, directed, weighted, sink -> {
+            for (int e = 0; e < edges[0].length; e++) sink.accept(edges[0][e], edges[1][e], edges[2][e]);
+        });
+    }
+
+    // Giống Graph.addEdge: giữ chiều và vị trí của lần xuất hiện đầu tiên, trọng số của lần cuối cùng.
+    // Sắp xếp đếm chỉ để gom các bản trùng; cạnh được xuất theo thứ tự thêm vào nên chỉ số cạnh,
+    // thứ tự getEdges() và mọi trace giống hệt khi gọi Graph.addEdge lần lượt
+    private int[][] deduplicate() {
+        int[] keyA = new int[size];
+        int[] keyB = new int[size];
+        for (int i = 0; i < size; i++) {
+            int u = from[i], v = to[i];
+            if (directed || u <= v) {
+                keyA[i] = u;
+                keyB[i] = v;
+            } else {
+                keyA[i] = v;
+                keyB[i] = u;
+            }
+        }
+
+        // Sắp xếp ổn định nên trong mỗi nhóm trùng, chỉ số đầu là lần xuất hiện đầu tiên
+        int[] order = CsrGraph.countingOrder(keyB, null, n);
+        order = CsrGraph.countingOrder(keyA, order, n);
+
+        boolean[] keep = new boolean[size];
+        int[] finalWeight = new int[size];
+        int m = 0;
+
+        int i = 0;
+        while (i < size) {
+            int first = order[i];
+            int last = first;
+            int j = i + 1;
+            while (j < size && keyA[order[j]] == keyA[first] && keyB[order[j]] == keyB[first]) {
+                last = order[j];
+                j++;
+            }
+            keep[first] = true;
+            finalWeight[first] = weights[last];
+            m++;
+            i = j;
+        }
+
+        int[] outFrom = new int[m];
+        int[] outTo = new int[m];
+        int[] outWeights = new int[m];
+        for (int k = 0, e = 0; k < size; k++) {
+            if (!keep[k]) continue;
+            outFrom[e] = from[k];
+            outTo[e] = to[k];
+            outWeights[e] = finalWeight[k];
+            e++;
+        }
+
+        return new int[][]{outFrom, outTo, outWeights};
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= from.length) return;
+        int newCapacity = Math.max(capacity, from.length + (from.length >> 1));
+        from = Arrays.copyOf(from, newCapacity);
+        to = Arrays.copyOf(to, newCapacity);
+        weights = Arrays.copyOf(weights, newCapacity);
+    }
+}
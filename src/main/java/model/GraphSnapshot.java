@@ -0,0 +1,36 @@
+package model;
+
+public interface GraphSnapshot {
+    int vertexCount();
+
+    int arcCount();
+
+    int edgeCount();
+
+    boolean isDirected();
+
+    boolean isWeighted();
+
+    // Cung của đỉnh u nằm trong [begin(u), end(u)), đã sắp theo đỉnh đích
+    int begin(int u);
+
+    int end(int u);
+
+    default int degree(int u) {
+        return end(u) - begin(u);
+    }
+
+    int target(int arc);
+
+    int weight(int arc);
+
+    int edgeOf(int arc);
+
+    int edgeFrom(int e);
+
+    int edgeTo(int e);
+
+    int edgeWeight(int e);
+
+    GraphSnapshot reverse();
+}
@@ -0,0 +1,6 @@
+package model;
+
+@FunctionalInterface
+public interface IntTripleConsumer {
+    void accept(int a, int b, int c);
+}
@@ -0,0 +1,464 @@
+package model;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+public final class MappedGraph implements GraphSnapshot, AutoCloseable {
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    private static final int MAGIC = 0x47565352; // "GVSR"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_INTS = 8;
+
+    private static final int FLAG_DIRECTED = 1;
+    private static final int FLAG_WEIGHTED = 2;
+
+    private final Arena arena;
+    private final int n;
+    private final int arcCount;
+    private final int edgeCount;
+    private final boolean directed;
+    private final boolean weighted;
+
+    private final MemorySegment offsets;
+    private final MemorySegment targets;
+    private final MemorySegment weights;
+    private final MemorySegment arcEdges;
+    private final MemorySegment edgeFrom;
+    private final MemorySegment edgeTo;
+    private final MemorySegment edgeWeights;
+
+    private MappedGraph reverse;
+
+    private MappedGraph(Arena arena, int n, int arcCount, int edgeCount, boolean directed, boolean weighted,
+                        MemorySegment offsets, MemorySegment targets, MemorySegment weights,
+                        MemorySegment arcEdges, MemorySegment edgeFrom, MemorySegment edgeTo,
+                        MemorySegment edgeWeights) {
+        this.arena = arena;
+        this.n = n;
+        this.arcCount = arcCount;
+        this.edgeCount = edgeCount;
+        this.directed = directed;
+        this.weighted = weighted;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.arcEdges = arcEdges;
+        this.edgeFrom = edgeFrom;
+        this.edgeTo = edgeTo;
+        this.edgeWeights = edgeWeights;
+    }
+
+    // Bố cục file: header | offsets | targets | weights | arcEdges | edgeFrom | edgeTo | edgeWeights
+    // và với đồ thị có hướng thêm offsets | targets | weights | arcEdges của đồ thị ngược
+    public static void write(GraphSnapshot g, Path file) throws IOException {
+        int n = g.vertexCount();
+        int a = g.arcCount();
+        int m = g.edgeCount();
+        boolean directed = g.isDirected();
+
+        long ints = HEADER_INTS + csrInts(n, a) + 3L * m + (directed ? csrInts(n, a) : 0);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+             Arena arena = Arena.ofConfined()) {
+
+            MemorySegment seg = channel.map(FileChannel.MapMode.READ_WRITE, 0, ints * Integer.BYTES, arena);
+
+            int flags = (directed ? FLAG_DIRECTED : 0) | (g.isWeighted() ? FLAG_WEIGHTED : 0);
+            int[] header = {MAGIC, FORMAT_VERSION, n, flags, a, m, 0, 0};
+            long pos = 0;
+            for (int h : header) seg.setAtIndex(INT, pos++, h);
+
+            pos = writeCsr(seg, pos, g);
+            for (int e = 0; e < m; e++) seg.setAtIndex(INT, pos++, g.edgeFrom(e));
+            for (int e = 0; e < m; e++) seg.setAtIndex(INT, pos++, g.edgeTo(e));
+            for (int e = 0; e < m; e++) seg.setAtIndex(INT, pos++, g.edgeWeight(e));
+            if (directed) writeCsr(seg, pos, g.reverse());
+
+            seg.force();
+        }
+    }
+
+    // Ghi thẳng từ nguồn cạnh mà không dựng đồ thị trên heap: lượt đầu đếm bậc, lượt hai rải cung vào vùng nhớ
+    // ánh xạ theo con trỏ từng hàng, cuối cùng sắp lại từng hàng theo (đích, cạnh) ngay trên file.
+    // Heap chỉ tốn O(n) cộng một bộ đệm cung cố định. Cạnh được ghi nguyên trạng, không gộp cạnh trùng (xem GraphBuilder.writeMapped).
+    // Kết quả giống hệt write(CsrGraph.fromEdges(...), file) trên cùng dãy cạnh
+    public static void write(Path file, int n, boolean directed, boolean weighted, EdgeStream edges)
+            throws IOException {
+        // Vô hướng thì mỗi cạnh cho một cung ở cả hai đầu nên dùng chung một mảng đếm
+        int[] out = new int[n + 2];
+        int[] in = directed ? new int[n + 2] : out;
+        long[] edgeTotal = {0};
+        edges.forEach((u, v, w) -> {
+            if (u < 1 || u > n || v < 1 || v > n) return;
+            out[u + 1]++;
+            in[v + 1]++;
+            edgeTotal[0]++;
+        });
+
+        long arcs = directed ? edgeTotal[0] : 2 * edgeTotal[0];
+        if (arcs > Integer.MAX_VALUE) {
+            throw new IOException("Đồ thị quá lớn cho định dạng file: " + edgeTotal[0] + " cạnh");
+        }
+        int m = (int) edgeTotal[0];
+        int a = (int) arcs;
+        for (int u = 1; u <= n + 1; u++) out[u] += out[u - 1];
+        if (directed) {
+            for (int u = 1; u <= n + 1; u++) in[u] += in[u - 1];
+        }
+
+        long ints = HEADER_INTS + csrInts(n, a) + 3L * m + (directed ? csrInts(n, a) : 0);
+        long offsetsPos = HEADER_INTS;
+        long targetsPos = offsetsPos + n + 2;
+        long weightsPos = targetsPos + a;
+        long arcEdgesPos = weightsPos + a;
+        long edgeFromPos = arcEdgesPos + a;
+        long edgeToPos = edgeFromPos + m;
+        long edgeWeightsPos = edgeToPos + m;
+        long rOffsetsPos = edgeWeightsPos + m;
+        long rTargetsPos = rOffsetsPos + n + 2;
+        long rWeightsPos = rTargetsPos + a;
+        long rArcEdgesPos = rWeightsPos + a;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+             Arena arena = Arena.ofConfined()) {
+
+            MemorySegment seg = channel.map(FileChannel.MapMode.READ_WRITE, 0, ints * Integer.BYTES, arena);
+
+            int flags = (directed ? FLAG_DIRECTED : 0) | (weighted ? FLAG_WEIGHTED : 0);
+            int[] header = {MAGIC, FORMAT_VERSION, n, flags, a, m, 0, 0};
+            for (int i = 0; i < header.length; i++) seg.setAtIndex(INT, i, header[i]);
+
+            for (int u = 0; u <= n + 1; u++) seg.setAtIndex(INT, offsetsPos + u, out[u]);
+            if (directed) {
+                for (int u = 0; u <= n + 1; u++) seg.setAtIndex(INT, rOffsetsPos + u, in[u]);
+            }
+
+            // Từ đây out/in là con trỏ ghi của từng hàng; offsets đã nằm trong file.
+            // Cung rơi vào vị trí ngẫu nhiên trong file, ghi từng cung một thì mỗi lần ghi là một lần chạm
+            // trang khác nhau nên gom vào bộ đệm rồi ghi theo thứ tự vị trí
+            ArcBuffer forward = new ArcBuffer(seg, targetsPos, weightsPos, arcEdgesPos);
+            ArcBuffer backward = directed ? new ArcBuffer(seg, rTargetsPos, rWeightsPos, rArcEdgesPos) : forward;
+            int[] edgeId = {0};
+            edges.forEach((u, v, w) -> {
+                if (u < 1 || u > n || v < 1 || v > n) return;
+                int e = edgeId[0]++;
+                if (e >= m) throw new IllegalStateException("Nguồn cạnh thay đổi giữa hai lượt đọc");
+                int weight = weighted ? w : 1;
+
+                seg.setAtIndex(INT, edgeFromPos + e, u);
+                seg.setAtIndex(INT, edgeToPos + e, v);
+                seg.setAtIndex(INT, edgeWeightsPos + e, weight);
+
+                forward.add(out[u]++, v, weight, e);
+                if (directed) {
+                    backward.add(in[v]++, u, weight, e);
+                } else {
+                    forward.add(out[v]++, u, weight, e);
+                }
+            });
+            if (edgeId[0] != m) throw new IOException("Nguồn cạnh thay đổi giữa hai lượt đọc");
+            forward.flush();
+            backward.flush();
+
+            sortRows(seg, n, offsetsPos, targetsPos, weightsPos, arcEdgesPos);
+            if (directed) sortRows(seg, n, rOffsetsPos, rTargetsPos, rWeightsPos, rArcEdgesPos);
+
+            seg.force();
+        }
+    }
+
+    private static final class ArcBuffer {
+        private static final int CAPACITY = 1 << 18;
+        private static final int SLOT_BITS = 18;
+
+        private final MemorySegment seg;
+        private final long targetsPos;
+        private final long weightsPos;
+        private final long arcEdgesPos;
+        // Vị trí cung ở 32 bit cao, ô trong bộ đệm ở bit thấp: sắp mảng long là sắp theo vị trí
+        private final long[] keys = new long[CAPACITY];
+        private final int[] targets = new int[CAPACITY];
+        private final int[] weights = new int[CAPACITY];
+        private final int[] edges = new int[CAPACITY];
+        private int size;
+
+        ArcBuffer(MemorySegment seg, long targetsPos, long weightsPos, long arcEdgesPos) {
+            this.seg = seg;
+            this.targetsPos = targetsPos;
+            this.weightsPos = weightsPos;
+            this.arcEdgesPos = arcEdgesPos;
+        }
+
+        void add(int arc, int target, int weight, int edge) {
+            if (size == CAPACITY) flush();
+            keys[size] = ((long) arc << SLOT_BITS) | size;
+            targets[size] = target;
+            weights[size] = weight;
+            edges[size] = edge;
+            size++;
+        }
+
+        void flush() {
+            Arrays.sort(keys, 0, size);
+            for (int i = 0; i < size; i++) {
+                long arc = keys[i] >>> SLOT_BITS;
+                int slot = (int) (keys[i] & (CAPACITY - 1));
+                seg.setAtIndex(INT, targetsPos + arc, targets[slot]);
+            }
+            for (int i = 0; i < size; i++) {
+                long arc = keys[i] >>> SLOT_BITS;
+                int slot = (int) (keys[i] & (CAPACITY - 1));
+                seg.setAtIndex(INT, weightsPos + arc, weights[slot]);
+            }
+            for (int i = 0; i < size; i++) {
+                long arc = keys[i] >>> SLOT_BITS;
+                int slot = (int) (keys[i] & (CAPACITY - 1));
+                seg.setAtIndex(INT, arcEdgesPos + arc, edges[slot]);
+            }
+            size = 0;
+        }
+    }
+
+    // Cung được rải theo thứ tự cạnh nên chỉ cần sắp theo đích; hàng đã đúng thứ tự (thường gặp khi
+    // danh sách cạnh vốn đã sắp) được bỏ qua. Heapsort tại chỗ trên file để không cần bộ đệm cỡ bậc lớn nhất
+    private static void sortRows(MemorySegment seg, int n, long offsetsPos,
+                                 long targetsPos, long weightsPos, long arcEdgesPos) {
+        RowView row = new RowView(seg, targetsPos, weightsPos, arcEdgesPos);
+        for (int u = 1; u <= n; u++) {
+            int begin = seg.getAtIndex(INT, offsetsPos + u);
+            int end = seg.getAtIndex(INT, offsetsPos + u + 1);
+            row.begin = begin;
+
+            boolean sorted = true;
+            for (int i = 1; sorted && i < end - begin; i++) sorted = row.compare(i - 1, i) <= 0;
+            if (sorted) continue;
+
+            int size = end - begin;
+            for (int i = size / 2 - 1; i >= 0; i--) row.siftDown(i, size);
+            for (int last = size - 1; last > 0; last--) {
+                row.swap(0, last);
+                row.siftDown(0, last);
+            }
+        }
+    }
+
+    private static final class RowView {
+        private final MemorySegment seg;
+        private final long targetsPos;
+        private final long weightsPos;
+        private final long arcEdgesPos;
+        private int begin;
+
+        RowView(MemorySegment seg, long targetsPos, long weightsPos, long arcEdgesPos) {
+            this.seg = seg;
+            this.targetsPos = targetsPos;
+            this.weightsPos = weightsPos;
+            this.arcEdgesPos = arcEdgesPos;
+        }
+
+        // Theo đích, cùng đích thì theo chỉ số cạnh như counting sort ổn định của CsrGraph
+        int compare(int i, int j) {
+            int c = Integer.compare(get(targetsPos, i), get(targetsPos, j));
+            return c != 0 ? c : Integer.compare(get(arcEdgesPos, i), get(arcEdgesPos, j));
+        }
+
+        void siftDown(int i, int size) {
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) return;
+                if (child + 1 < size && compare(child + 1, child) > 0) child++;
+                if (compare(i, child) >= 0) return;
+                swap(i, child);
+                i = child;
+            }
+        }
+
+        void swap(int i, int j) {
+            swapAt(targetsPos, i, j);
+            swapAt(weightsPos, i, j);
+            swapAt(arcEdgesPos, i, j);
+        }
+
+        private int get(long base, int i) {
+            return seg.getAtIndex(INT, base + begin + i);
+        }
+
+        private void swapAt(long base, int i, int j) {
+            int tmp = get(base, i);
+            seg.setAtIndex(INT, base + begin + i, get(base, j));
+            seg.setAtIndex(INT, base + begin + j, tmp);
+        }
+    }
+
+    private static long csrInts(int n, int arcs) {
+        return (n + 2L) + 3L * arcs;
+    }
+
+    private static long writeCsr(MemorySegment seg, long pos, GraphSnapshot g) {
+        int n = g.vertexCount();
+        int a = g.arcCount();
+        for (int u = 0; u <= n; u++) seg.setAtIndex(INT, pos++, u == 0 ? 0 : g.begin(u));
+        seg.setAtIndex(INT, pos++, a);
+        for (int i = 0; i < a; i++) seg.setAtIndex(INT, pos++, g.target(i));
+        for (int i = 0; i < a; i++) seg.setAtIndex(INT, pos++, g.weight(i));
+        for (int i = 0; i < a; i++) seg.setAtIndex(INT, pos++, g.edgeOf(i));
+        return pos;
+    }
+
+    public static MappedGraph open(Path file) throws IOException {
+        Arena arena = Arena.ofShared();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MemorySegment seg = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+
+            if (seg.byteSize() < HEADER_INTS * Integer.BYTES
+                    || seg.getAtIndex(INT, 0) != MAGIC || seg.getAtIndex(INT, 1) != FORMAT_VERSION) {
+                throw new IOException("File không phải đồ thị GraphVisualizer: " + file);
+            }
+
+            int n = seg.getAtIndex(INT, 2);
+            int flags = seg.getAtIndex(INT, 3);
+            int a = seg.getAtIndex(INT, 4);
+            int m = seg.getAtIndex(INT, 5);
+            boolean directed = (flags & FLAG_DIRECTED) != 0;
+            boolean weighted = (flags & FLAG_WEIGHTED) != 0;
+
+            long expected = HEADER_INTS + csrInts(n, a) + 3L * m + (directed ? csrInts(n, a) : 0);
+            if (seg.byteSize() < expected * Integer.BYTES) {
+                throw new IOException("File đồ thị bị cắt cụt: " + file);
+            }
+
+            long pos = HEADER_INTS;
+            MemorySegment offsets = slice(seg, pos, n + 2L);
+            pos += n + 2L;
+            MemorySegment targets = slice(seg, pos, a);
+            pos += a;
+            MemorySegment weights = slice(seg, pos, a);
+            pos += a;
+            MemorySegment arcEdges = slice(seg, pos, a);
+            pos += a;
+            MemorySegment edgeFrom = slice(seg, pos, m);
+            pos += m;
+            MemorySegment edgeTo = slice(seg, pos, m);
+            pos += m;
+            MemorySegment edgeWeights = slice(seg, pos, m);
+            pos += m;
+
+            MappedGraph graph = new MappedGraph(arena, n, a, m, directed, weighted,
+                    offsets, targets, weights, arcEdges, edgeFrom, edgeTo, edgeWeights);
+
+            if (directed) {
+                MemorySegment rOffsets = slice(seg, pos, n + 2L);
+                pos += n + 2L;
+                MemorySegment rTargets = slice(seg, pos, a);
+                pos += a;
+                MemorySegment rWeights = slice(seg, pos, a);
+                pos += a;
+                MemorySegment rArcEdges = slice(seg, pos, a);
+
+                MappedGraph rev = new MappedGraph(null, n, a, m, true, weighted,
+                        rOffsets, rTargets, rWeights, rArcEdges, edgeTo, edgeFrom, edgeWeights);
+                rev.reverse = graph;
+                graph.reverse = rev;
+            } else {
+                graph.reverse = graph;
+            }
+            return graph;
+        } catch (IOException | RuntimeException ex) {
+            arena.close();
+            throw ex;
+        }
+    }
+
+    private static MemorySegment slice(MemorySegment seg, long intOffset, long intCount) {
+        return seg.asSlice(intOffset * Integer.BYTES, intCount * Integer.BYTES);
+    }
+
+    @Override
+    public int vertexCount() {
+        return n;
+    }
+
+    @Override
+    public int arcCount() {
+        return arcCount;
+    }
+
+    @Override
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    @Override
+    public boolean isDirected() {
+        return directed;
+    }
+
+    @Override
+    public boolean isWeighted() {
+        return weighted;
+    }
+
+    @Override
+    public int begin(int u) {
+        return offsets.getAtIndex(INT, u);
+    }
+
+    @Override
+    public int end(int u) {
+        return offsets.getAtIndex(INT, u + 1);
+    }
+
+    @Override
+    public int target(int arc) {
+        return targets.getAtIndex(INT, arc);
+    }
+
+    @Override
+    public int weight(int arc) {
+        return weights.getAtIndex(INT, arc);
+    }
+
+    @Override
+    public int edgeOf(int arc) {
+        return arcEdges.getAtIndex(INT, arc);
+    }
+
+    @Override
+    public int edgeFrom(int e) {
+        return edgeFrom.getAtIndex(INT, e);
+    }
+
+    @Override
+    public int edgeTo(int e) {
+        return edgeTo.getAtIndex(INT, e);
+    }
+
+    @Override
+    public int edgeWeight(int e) {
+        return edgeWeights.getAtIndex(INT, e);
+    }
+
+    @Override
+    public MappedGraph reverse() {
+        return reverse;
+    }
+
+    @Override
+    public void close() {
+        if (arena == null) {
+            reverse.close();
+        } else if (arena.scope().isAlive()) {
+            arena.close();
+        }
+    }
+}
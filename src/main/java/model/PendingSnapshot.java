@@ -0,0 +1,37 @@
+package model;
+
+// Cột cạnh đã chép khỏi Graph ở luồng giao diện; CSR (hai lần counting sort) chỉ được dựng ở lần get() đầu tiên,
+// thường là ở luồng nền. Các lần sau trả về đúng đối tượng đó nên cache theo snapshot (APSP, CH, landmark) vẫn trúng
+public final class PendingSnapshot {
+    private final int n;
+    private final boolean directed;
+    private final boolean weighted;
+    private int[] from;
+    private int[] to;
+    private int[] weights;
+    private CsrGraph csr;
+
+    PendingSnapshot(int n, boolean directed, boolean weighted, int[] from, int[] to, int[] weights) {
+        this.n = n;
+        this.directed = directed;
+        this.weighted = weighted;
+        this.from = from;
+        this.to = to;
+        this.weights = weights;
+    }
+
+    PendingSnapshot(CsrGraph csr) {
+        this(csr.vertexCount(), csr.isDirected(), csr.isWeighted(), null, null, null);
+        this.csr = csr;
+    }
+
+    public synchronized CsrGraph get() {
+        if (csr == null) {
+            csr = CsrGraph.fromEdges(n, directed, weighted, from, to, weights);
+            from = null;
+            to = null;
+            weights = null;
+        }
+        return csr;
+    }
+}
@@ -0,0 +1,18 @@
+package ui;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Executor dùng chung cho mọi việc nặng của giao diện: mỗi tác vụ một luồng ảo, luồng FX không bao giờ chờ.
+// Kết quả phải quay về luồng FX bằng Platform.runLater
+public final class Background {
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    private Background() {
+    }
+
+    public static Future<?> submit(Runnable task) {
+        return EXECUTOR.submit(task);
+    }
+}
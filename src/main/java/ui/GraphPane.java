@@ -131,7 +131,7 @@ public class GraphPane extends Pane {
             VertexNode vNode = vertexNodes.get(e.to);
             if (uNode == null || vNode == null) continue;
 
-            EdgeView ev = new EdgeView(uNode, vNode, e, graph.isDirected(), graph.isWeighted());
+            EdgeView ev = new EdgeView(graph, uNode, vNode, e, graph.isDirected(), graph.isWeighted());
             edgeViews.put(e.from + "-" + e.to, ev);
             if (!graph.isDirected()) edgeViews.put(e.to + "-" + e.from, ev);
 
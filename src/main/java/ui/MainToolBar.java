@@ -1,13 +1,19 @@
 package ui;
 
+import javafx.application.Platform;
 import javafx.scene.control.Button;
 import javafx.scene.control.Separator;
 import javafx.scene.control.TextArea;
 import javafx.scene.control.ToolBar;
 import javafx.scene.control.Tooltip;
 import javafx.scene.control.Alert;
+import algorithm.impl.shortestpath.AllPairsShortestPath;
+import algorithm.result.DistanceMatrix;
 import model.Graph;
+import model.GraphSnapshot;
+import model.PendingSnapshot;
 import ui.controls.GraphInputPane;
+import ui.formatter.DistanceMatrixFormatter;
 import ui.layout.RandomLayout;
 
 public class MainToolBar extends ToolBar {
@@ -46,20 +52,49 @@ public class MainToolBar extends ToolBar {
 
     private void showMatrix(Graph graph) {
         if (graph.vertexCount() == 0) return;
+
+        // Snapshot bất biến nên dựng CSR và chuỗi ở luồng nền được, người dùng vẫn sửa đồ thị bình thường
+        PendingSnapshot snapshot = graph.pendingSnapshot();
+        Background.submit(() -> {
+            try {
+                String text = render(snapshot.get());
+                Platform.runLater(() -> showDialog(text));
+            } catch (Exception ex) {
+                ex.printStackTrace();
+                Platform.runLater(() -> new Alert(Alert.AlertType.ERROR, "Lỗi: " + ex.getMessage()).show());
+            }
+        });
+    }
+
+    private static String render(GraphSnapshot g) {
+        int n = g.vertexCount();
         StringBuilder sb = new StringBuilder("      ");
-        int n = graph.vertexCount();
         for (int i = 1; i <= n; i++) sb.append(String.format("%3d ", i));
         sb.append("\n\n");
+
+        int[] row = new int[n + 1];
         for (int i = 1; i <= n; i++) {
+            for (int a = g.begin(i), end = g.end(i); a < end; a++) row[g.target(a)] = g.weight(a);
             sb.append(String.format("%3d | ", i));
             for (int j = 1; j <= n; j++) {
-                int w = 0;
-                for (var e : graph.getAdj(i)) if (e.to == j) w = e.weight;
+                int w = row[j];
                 sb.append(w == 0 ? "  . " : String.format("%3d ", w));
             }
             sb.append("\n");
+            for (int a = g.begin(i), end = g.end(i); a < end; a++) row[g.target(a)] = 0;
+        }
+
+        // Nếu đã chạy APSP trên đúng phiên bản đồ thị này thì hiện luôn ma trận khoảng cách (không chờ nếu đang tính)
+        DistanceMatrix distances = AllPairsShortestPath.cached(g);
+        if (distances != null) {
+            sb.append("\nMa trận khoảng cách:\n\n");
+            sb.append(DistanceMatrixFormatter.render(distances));
         }
-        TextArea ta = new TextArea(sb.toString());
+        return sb.toString();
+    }
+
+    private void showDialog(String text) {
+        TextArea ta = new TextArea(text);
         ta.setFont(javafx.scene.text.Font.font("Monospaced", 14));
         Alert a = new Alert(Alert.AlertType.INFORMATION);
         a.setTitle("Ma trận kề");
@@ -1,6 +1,9 @@
 package ui.animation;
 
 import algorithm.AlgoStep;
+import algorithm.StepLog;
+import algorithm.StepSink;
+import javafx.animation.Animation;
 import javafx.scene.paint.Color;
 import ui.GraphPane;
 import javafx.animation.KeyFrame;
@@ -8,24 +11,59 @@ import javafx.animation.Timeline;
 import javafx.util.Duration;
 import ui.components.EdgeView;
 import ui.components.VertexNode;
-import java.util.List;
 
-public class AlgoAnimator {
+import java.util.concurrent.CancellationException;
+
+public class AlgoAnimator implements StepSink {
+    // Mỗi bước hiện 0.8 giây nên hơn một triệu bước là hoạt ảnh không bao giờ chạy tới; phần sau bị bỏ
+    private static final int MAX_RECORDED_STEPS = 1 << 20;
+
     private final Timeline timeline;
     private final GraphPane graphPane;
 
-    public AlgoAnimator(List<AlgoStep> steps, GraphPane graphPane) {
+    // Thuật toán ghi từ luồng khác và không bao giờ bị chặn, nên kết quả có ngay khi run() trả về.
+    // StepLog lưu gọn 3 int mỗi bước; timeline đọc lần lượt theo con trỏ, cả hai khóa trên trace
+    private final StepLog trace = new StepLog();
+    private int cursor;
+    private volatile boolean finished;
+    private volatile boolean stopped;
+
+    public AlgoAnimator(GraphPane graphPane) {
         this.graphPane = graphPane;
 
-        timeline = new Timeline();
-        Duration time = Duration.ZERO;
-        Duration stepTime = Duration.seconds(0.8);
+        timeline = new Timeline(new KeyFrame(Duration.seconds(0.8), e -> nextStep()));
+        timeline.setCycleCount(Animation.INDEFINITE);
+    }
+
+    @Override
+    public void emit(AlgoStep.Type type, int u, int v, String extraData) {
+        if (stopped) throw new CancellationException();
+        synchronized (trace) {
+            if (trace.size() < MAX_RECORDED_STEPS) trace.emit(type, u, v, extraData);
+        }
+    }
+
+    @Override
+    public void emitFlow(int u, int v, int flow, int capacity) {
+        if (stopped) throw new CancellationException();
+        synchronized (trace) {
+            if (trace.size() < MAX_RECORDED_STEPS) trace.emitFlow(u, v, flow, capacity);
+        }
+    }
+
+    public void finish() {
+        finished = true;
+    }
 
-        for (AlgoStep s : steps) {
-            time = time.add(stepTime);
-            timeline.getKeyFrames().add(
-                    new KeyFrame(time, e -> applyStep(s))
-            );
+    private void nextStep() {
+        AlgoStep s = null;
+        synchronized (trace) {
+            if (cursor < trace.size()) s = trace.get(cursor++);
+        }
+        if (s != null) {
+            applyStep(s);
+        } else if (finished) {
+            timeline.stop();
         }
     }
 
@@ -41,6 +79,18 @@ public class AlgoAnimator {
             case EXPLORE_EDGE -> { if (edge != null) edge.highlightExplore(); }
             case HIGHLIGHT_PATH -> { if (edge != null) edge.highlightSuccess(); }
 
+            case VISIT_VERTEX_BACKWARD -> { if (uNode != null) uNode.highlightVisitBackward(); }
+            case EXPLORE_EDGE_BACKWARD -> { if (edge != null) edge.highlightExploreBackward(); }
+
+            case VISIT_BATCH -> {
+                if (s.extraData != null && !s.extraData.isEmpty()) {
+                    for (String id : s.extraData.split(" ")) {
+                        VertexNode node = graphPane.getNodes().get(Integer.parseInt(id));
+                        if (node != null) node.highlightVisit();
+                    }
+                }
+            }
+
             case FOUND_SCC -> {
                 if (uNode != null) {
                     int sccId = s.v;
@@ -66,4 +116,9 @@ public class AlgoAnimator {
     public void play() {
         timeline.playFromStart();
     }
+
+    public void stop() {
+        stopped = true;
+        timeline.stop();
+    }
 }
\ No newline at end of file
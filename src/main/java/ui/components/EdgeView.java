@@ -11,12 +11,14 @@ import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.scene.text.Text;
 import model.Edge;
+import model.Graph;
 
 public class EdgeView {
     private static final double ARROW_SIZE = 10;
     private static final double ARROW_DISTANCE = VertexNode.RADIUS + 3;
     private static final double LABEL_OFFSET_DISTANCE = 15.0;
 
+    private final Graph graph;
     private final Edge edge;
     private final Line line;
     private final Text label;
@@ -24,7 +26,8 @@ public class EdgeView {
     private final boolean directed;
     private final boolean showWeight;
 
-    public EdgeView(VertexNode from, VertexNode to, Edge edge, boolean directed, boolean showWeight) {
+    public EdgeView(Graph graph, VertexNode from, VertexNode to, Edge edge, boolean directed, boolean showWeight) {
+        this.graph = graph;
         this.edge = edge;
         this.directed = directed;
         this.showWeight = showWeight;
@@ -127,7 +130,7 @@ public class EdgeView {
         dialog.showAndWait().ifPresent(s -> {
             try {
                 int w = Integer.parseInt(s.trim());
-                edge.weight = w;
+                graph.addEdge(edge.from, edge.to, w);
                 if(label!=null) { label.setText(String.valueOf(w)); update(); label.setStyle("-fx-fill: blue;"); }
             } catch(Exception ex){}
         });
@@ -146,6 +149,7 @@ public class EdgeView {
     }
 
     public void highlightExplore() { setHighlight(Color.CORNFLOWERBLUE); }
+    public void highlightExploreBackward() { setHighlight(Color.ORCHID); }
     public void highlightSuccess() { setHighlight(Color.RED); }
 
     public void resetStyle() {
@@ -46,6 +46,10 @@ public class VertexNode extends StackPane {
         circle.setFill(Color.ORANGE);
     }
 
+    public void highlightVisitBackward() {
+        circle.setFill(Color.MEDIUMPURPLE);
+    }
+
     public void highlightFinish() {
         circle.setFill(Color.LIGHTGREEN);
     }
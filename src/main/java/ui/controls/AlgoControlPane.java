@@ -1,20 +1,26 @@
 package ui.controls;
 
 import algorithm.*;
+import algorithm.result.FlowResult;
+import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.scene.control.*;
 import javafx.scene.layout.VBox;
 import model.Graph;
+import ui.Background;
 import ui.GraphPane;
 import ui.animation.AlgoAnimator;
 import ui.formatter.FormatterFactory;
 import ui.formatter.ResultFormatter;
 
-import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 
 public class AlgoControlPane extends VBox {
-
     private final Graph graph;
     private final GraphPane graphPane;
     private ComboBox<AlgorithmType> algoComboBox;
@@ -23,6 +29,12 @@ public class AlgoControlPane extends VBox {
     private VBox targetInputContainer;
     private TextField targetVertexField;
     private TextArea resultArea;
+    private AlgoAnimator animator;
+    private Button cancelBtn;
+    private Label statusLabel;
+    private CancellationToken runToken;
+    // Hoàn tất khi luồng của lần chạy gần nhất thực sự kết thúc, kể cả khi bị hủy
+    private CompletableFuture<Void> runDone = CompletableFuture.completedFuture(null);
 
     public AlgoControlPane(Graph graph, GraphPane graphPane) {
         this.graph = graph;
@@ -60,6 +72,17 @@ public class AlgoControlPane extends VBox {
         runBtn.getStyleClass().add("button");
         runBtn.setOnAction(e -> runAlgorithm());
 
+        cancelBtn = new Button("Cancel");
+        cancelBtn.setPrefWidth(Double.MAX_VALUE);
+        cancelBtn.getStyleClass().add("button");
+        cancelBtn.setDisable(true);
+        cancelBtn.setOnAction(e -> {
+            cancelRun();
+            statusLabel.setText("Đã hủy");
+        });
+
+        statusLabel = new Label();
+
         resultArea = new TextArea();
         resultArea.setEditable(false);
         resultArea.setPrefRowCount(6);
@@ -71,6 +94,8 @@ public class AlgoControlPane extends VBox {
                 startInputContainer,
                 targetInputContainer,
                 runBtn,
+                cancelBtn,
+                statusLabel,
                 new Label("Kết quả:"), resultArea
         );
     }
@@ -105,7 +130,11 @@ public class AlgoControlPane extends VBox {
             AlgorithmType type = algoComboBox.getValue();
             if (type == null) return;
 
-            if (type != AlgorithmType.MAX_FLOW) {
+            // Hủy lần chạy trước trước khi xóa luồng: sau khi hủy, luồng cực đại của nó không còn được ghi lên đồ thị
+            cancelRun();
+
+            // Hai chế độ này khởi động từ luồng đang hiển thị nên không xóa luồng cũ
+            if (type != AlgorithmType.MAX_FLOW && type != AlgorithmType.MAX_FLOW_INCREMENTAL) {
                 graph.resetFlow();
                 graphPane.drawFromGraph();
             }
@@ -127,15 +156,61 @@ public class AlgoControlPane extends VBox {
                 target = Integer.parseInt(tText);
             }
 
-            GraphAlgorithm algo = AlgoFactory.createAlgorithm(type, graph, start, target);
-            var steps = algo.run();
+            // Ở luồng FX chỉ chép cột cạnh (và luồng/tọa độ nếu cần); CSR và thuật toán được dựng ở luồng nền
+            Supplier<GraphAlgorithm> factory = AlgoFactory.prepare(type, graph, start, target);
 
             graphPane.resetVisual();
-
-            AlgoAnimator animator = new AlgoAnimator(steps, graphPane);
-            animator.play();
-
-            printResult(type, steps);
+            resultArea.clear();
+
+            AlgoAnimator current = new AlgoAnimator(graphPane);
+            animator = current;
+            CancellationToken token = new CancellationToken();
+            runToken = token;
+            AtomicLong steps = new AtomicLong();
+            ResultFormatter formatter = FormatterFactory.getFormatter(type);
+            StringBuilder summary = new StringBuilder();
+            StepSink resultSink = (stepType, u, v, extraData) -> {
+                if (stepType == AlgoStep.Type.SHOW_RESULT && summary.isEmpty()) summary.append(extraData);
+            };
+
+            // Animator chỉ ghi lại bước và tự phát theo nhịp riêng, nên kết quả in ngay khi run() trả về.
+            // Token đứng đầu tee để sau khi hủy không còn bước nào lọt vào animator
+            CompletableFuture<Void> previous = runDone;
+            CompletableFuture<Void> done = new CompletableFuture<>();
+            runDone = done;
+            Background.submit(() -> {
+                try {
+                    // Chờ lần chạy trước (đã hủy) dừng hẳn ở luồng nền, nên hai thuật toán không bao giờ chạy chồng nhau
+                    previous.join();
+                    GraphAlgorithm algo = factory.get();
+                    algo.run(StepSink.tee(token, current, formatter, resultSink, progressSink(token, steps)));
+                    FlowResult flow = flowResult(algo);
+                    Platform.runLater(() -> {
+                        if (token.isCancelled()) return;
+                        // Edge.currentFlow chỉ được ghi ở luồng FX, nơi đồ thị được vẽ và được xóa luồng
+                        if (flow != null) graph.applyFlows(flow.edgeFlow);
+                        printResult(summary.toString(), formatter);
+                        statusLabel.setText("Hoàn tất: " + steps.get() + " bước");
+                        cancelBtn.setDisable(true);
+                    });
+                } catch (CancellationException ignored) {
+                } catch (Exception | OutOfMemoryError ex) {
+                    // Hết bộ nhớ ở một thuật toán vẫn phải báo cho người dùng thay vì lặng lẽ dừng luồng nền
+                    ex.printStackTrace();
+                    Platform.runLater(() -> {
+                        if (token.isCancelled()) return;
+                        statusLabel.setText("");
+                        cancelBtn.setDisable(true);
+                        showAlert("Lỗi: " + ex.getMessage());
+                    });
+                } finally {
+                    current.finish();
+                    done.complete(null);
+                }
+            });
+            current.play();
+            cancelBtn.setDisable(false);
+            statusLabel.setText("Đang chạy...");
 
         } catch (NumberFormatException e) {
             showAlert("Vui lòng nhập đúng định dạng số!");
@@ -145,21 +220,42 @@ public class AlgoControlPane extends VBox {
         }
     }
 
-    private void printResult(AlgorithmType type, List<AlgoStep> steps) {
-        StringBuilder sb = new StringBuilder();
+    // Đếm bước ở luồng thuật toán; luồng FX chỉ có tối đa một lần cập nhật đang chờ nên không bị dồn hàng đợi
+    private StepSink progressSink(CancellationToken token, AtomicLong steps) {
+        AtomicBoolean pending = new AtomicBoolean();
+        return (type, u, v, extraData) -> {
+            steps.incrementAndGet();
+            if (pending.compareAndSet(false, true)) {
+                Platform.runLater(() -> {
+                    pending.set(false);
+                    if (!token.isCancelled()) statusLabel.setText("Đang chạy... " + steps.get() + " bước");
+                });
+            }
+        };
+    }
+
+    // Chỉ báo hủy, không chờ ở luồng FX: lần chạy sau tự chờ luồng này dừng trên luồng nền,
+    // còn mọi runLater của lần chạy đã hủy đều bỏ qua nhờ kiểm tra token
+    private void cancelRun() {
+        if (runToken != null) runToken.cancel();
+        if (animator != null) animator.stop();
+        runToken = null;
+        cancelBtn.setDisable(true);
+    }
 
-        var resultStep = steps.stream()
-                .filter(s -> s.type == AlgoStep.Type.SHOW_RESULT)
-                .findFirst();
+    private static FlowResult flowResult(GraphAlgorithm algo) {
+        return algo instanceof HeadlessAlgorithm<?> h && h.getResult() instanceof FlowResult f ? f : null;
+    }
+
+    private void printResult(String summary, ResultFormatter formatter) {
+        StringBuilder sb = new StringBuilder();
 
-        if (resultStep.isPresent()) {
+        if (!summary.isEmpty()) {
             sb.append("=== KẾT QUẢ ===\n");
-            sb.append(resultStep.get().extraData).append("\n\n");
+            sb.append(summary).append("\n\n");
         }
 
-        ResultFormatter formatter = FormatterFactory.getFormatter(type);
-
-        sb.append(formatter.format(graph, steps));
+        sb.append(formatter.format(graph));
 
         resultArea.setText(sb.toString());
     }
@@ -5,6 +5,7 @@ import javafx.scene.control.*;
 import javafx.scene.layout.VBox;
 import javafx.stage.FileChooser;
 import model.Graph;
+import model.GraphBuilder;
 import ui.GraphPane;
 import ui.layout.CircleLayout;
 
@@ -124,7 +125,7 @@ public class GraphInputPane extends VBox {
             int n = Integer.parseInt(vertexField.getText().trim());
             graph.clear();
             graphPane.clear();
-            graph.createVertices(n);
+            GraphBuilder builder = new GraphBuilder(graph.isDirected(), graph.isWeighted(), n);
 
             String[] lines = edgeArea.getText().split("\\n");
             for (String line : lines) {
@@ -137,8 +138,9 @@ public class GraphInputPane extends VBox {
                 if (graph.isWeighted() && parts.length >= 3) {
                     w = Integer.parseInt(parts[2]);
                 }
-                graph.addEdge(u, v, w);
+                builder.addEdge(u, v, w);
             }
+            builder.buildInto(graph);
             new CircleLayout().arrange(graph.getVertices());
             graphPane.drawFromGraph();
             if (onGraphUpdate != null) onGraphUpdate.run();
@@ -9,18 +9,29 @@ import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 public class ConnectivityFormatter implements ResultFormatter {
+    private final Map<Integer, List<Integer>> sccMap = new TreeMap<>();
+    private final String title;
+
+    public ConnectivityFormatter() {
+        this("Các thành phần liên thông mạnh (SCC):");
+    }
+
+    public ConnectivityFormatter(String title) {
+        this.title = title;
+    }
+
     @Override
-    public String format(Graph graph, List<AlgoStep> steps) {
+    public void emit(AlgoStep.Type type, int u, int v, String extraData) {
+        if (type == AlgoStep.Type.FOUND_SCC) {
+            sccMap.computeIfAbsent(v, k -> new ArrayList<>()).add(u);
+        }
+    }
+
+    @Override
+    public String format(Graph graph) {
         StringBuilder sb = new StringBuilder();
-        sb.append("Các thành phần liên thông mạnh (SCC):\n");
+        sb.append(title).append("\n");
         sb.append("-------------------------------------\n");
-        Map<Integer, List<Integer>> sccMap = new TreeMap<>();
-
-        for (AlgoStep s : steps) {
-            if (s.type == AlgoStep.Type.FOUND_SCC) {
-                sccMap.computeIfAbsent(s.v, k -> new ArrayList<>()).add(s.u);
-            }
-        }
 
         sb.append("Tổng số vùng: ").append(sccMap.size()).append("\n\n");
 
@@ -32,4 +43,4 @@ public class ConnectivityFormatter implements ResultFormatter {
 
         return sb.toString();
     }
-}
\ No newline at end of file
+}
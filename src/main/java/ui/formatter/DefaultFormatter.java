@@ -2,20 +2,26 @@ package ui.formatter;
 
 import algorithm.AlgoStep;
 import model.Graph;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.BitSet;
 
 public class DefaultFormatter implements ResultFormatter {
+    private final BitSet visited = new BitSet();
+    private final StringBuilder path = new StringBuilder();
+
+    @Override
+    public void emit(AlgoStep.Type type, int u, int v, String extraData) {
+        if (type == AlgoStep.Type.VISIT_VERTEX && u >= 0 && !visited.get(u)) {
+            visited.set(u);
+            if (!path.isEmpty()) path.append(" -> ");
+            path.append(u);
+        }
+    }
+
     @Override
-    public String format(Graph graph, List<AlgoStep> steps) {
+    public String format(Graph graph) {
         StringBuilder sb = new StringBuilder();
         sb.append("Thứ tự duyệt:\n");
-        String path = steps.stream()
-                .filter(s -> s.type == AlgoStep.Type.VISIT_VERTEX)
-                .map(s -> String.valueOf(s.u))
-                .distinct()
-                .collect(Collectors.joining(" -> "));
         sb.append(path);
         return sb.toString();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,40 @@
+package ui.formatter;
+
+import algorithm.AlgoStep;
+import algorithm.impl.shortestpath.AllPairsShortestPath;
+import algorithm.result.DistanceMatrix;
+import model.Graph;
+
+public class DistanceMatrixFormatter implements ResultFormatter {
+    private static final int MAX_RENDERED = 50;
+
+    @Override
+    public void emit(AlgoStep.Type type, int u, int v, String extraData) {
+    }
+
+    @Override
+    public String format(Graph graph) {
+        DistanceMatrix matrix = AllPairsShortestPath.cached(graph.snapshot());
+        if (matrix == null) return "Chưa có ma trận khoảng cách.";
+        return render(matrix);
+    }
+
+    public static String render(DistanceMatrix matrix) {
+        int n = matrix.vertexCount();
+        if (n > MAX_RENDERED) {
+            return "Ma trận " + n + "x" + n + " quá lớn để hiển thị.";
+        }
+
+        StringBuilder sb = new StringBuilder("      ");
+        for (int j = 1; j <= n; j++) sb.append(String.format("%3d ", j));
+        sb.append("\n\n");
+        for (int i = 1; i <= n; i++) {
+            sb.append(String.format("%3d | ", i));
+            for (int j = 1; j <= n; j++) {
+                sb.append(matrix.isReachable(i, j) ? String.format("%3d ", matrix.get(i, j)) : "  ∞ ");
+            }
+            sb.append("\n");
+        }
+        return sb.toString();
+    }
+}
@@ -3,11 +3,14 @@ package ui.formatter;
 import algorithm.AlgoStep;
 import model.Edge;
 import model.Graph;
-import java.util.List;
 
 public class FlowFormatter implements ResultFormatter {
     @Override
-    public String format(Graph graph, List<AlgoStep> steps) {
+    public void emit(AlgoStep.Type type, int u, int v, String extraData) {
+    }
+
+    @Override
+    public String format(Graph graph) {
         StringBuilder sb = new StringBuilder();
 
         sb.append("Trạng thái luồng trên mạng (Flow / Capacity):\n");
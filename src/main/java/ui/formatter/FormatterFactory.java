@@ -6,12 +6,27 @@ public class FormatterFactory {
     public static ResultFormatter getFormatter(AlgorithmType type) {
         switch (type) {
             case DIJKSTRA:
+            case DELTA_STEPPING:
+            case BIDIRECTIONAL_DIJKSTRA:
             case ASTAR:
+            case BIDIRECTIONAL_ASTAR:
+            case ASTAR_ALT:
+            case CONTRACTION_HIERARCHY:
             case GBFS:
                 return new PathfindingFormatter();
             case KRUSKAL:
-            case TARJAN: return new ConnectivityFormatter();
-            case MAX_FLOW: return new FlowFormatter();
+            case FILTER_KRUSKAL:
+            case BORUVKA:
+            case PRIM: return new TreeFormatter();
+            case TARJAN:
+            case SCC_PARALLEL: return new ConnectivityFormatter();
+            case CONNECTED_COMPONENTS: return new ConnectivityFormatter("Các thành phần liên thông:");
+            case MAX_FLOW:
+            case MAX_FLOW_INCREMENTAL:
+            case MAX_FLOW_DINIC:
+            case MAX_FLOW_PUSH_RELABEL: return new FlowFormatter();
+            case ALL_PAIRS_SHORTEST_PATH: return new DistanceMatrixFormatter();
+            case BFS_DIRECTION_OPTIMIZING: return new LevelFormatter();
             default:
                 return new DefaultFormatter();
         }
@@ -0,0 +1,20 @@
+package ui.formatter;
+
+import algorithm.AlgoStep;
+import model.Graph;
+
+public class LevelFormatter implements ResultFormatter {
+    private final StringBuilder levels = new StringBuilder();
+
+    @Override
+    public void emit(AlgoStep.Type type, int u, int v, String extraData) {
+        if (type == AlgoStep.Type.VISIT_BATCH && extraData != null) {
+            levels.append("Tầng ").append(u).append(": ").append(extraData).append("\n");
+        }
+    }
+
+    @Override
+    public String format(Graph graph) {
+        return "Các tầng BFS:\n" + levels;
+    }
+}
@@ -3,17 +3,21 @@ package ui.formatter;
 import algorithm.AlgoStep;
 import model.Edge;
 import model.Graph;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
 public class PathfindingFormatter implements ResultFormatter {
+    private final List<Integer> path = new ArrayList<>();
+
+    @Override
+    public void emit(AlgoStep.Type type, int u, int v, String extraData) {
+        if (type == AlgoStep.Type.HIGHLIGHT_NODE) path.add(u);
+    }
+
     @Override
-    public String format(Graph graph, List<AlgoStep> steps) {
+    public String format(Graph graph) {
         StringBuilder sb = new StringBuilder();
-        List<Integer> path = steps.stream()
-                .filter(s -> s.type == AlgoStep.Type.HIGHLIGHT_NODE)
-                .map(s -> s.u)
-                .toList();
 
         if (!path.isEmpty()) {
             sb.append("Đường đi tìm được: ");
@@ -30,10 +34,9 @@ public class PathfindingFormatter implements ResultFormatter {
         for (int i = 0; i < path.size() - 1; i++) {
             int u = path.get(i);
             int v = path.get(i + 1);
-            for (Edge e : graph.getAdj(u)) {
-                if (e.to == v) { cost += e.weight; break; }
-            }
+            Edge e = graph.getEdge(u, v);
+            if (e != null) cost += e.weight;
         }
         return cost;
     }
-}
\ No newline at end of file
+}
@@ -1,9 +1,8 @@
 package ui.formatter;
 
-import algorithm.AlgoStep;
+import algorithm.StepSink;
 import model.Graph;
-import java.util.List;
 
-public interface ResultFormatter {
-    String format(Graph graph, List<AlgoStep> steps);
-}
\ No newline at end of file
+public interface ResultFormatter extends StepSink {
+    String format(Graph graph);
+}
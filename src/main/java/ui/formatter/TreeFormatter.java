@@ -3,21 +3,28 @@ package ui.formatter;
 import algorithm.AlgoStep;
 import model.Edge;
 import model.Graph;
+import java.util.ArrayList;
 import java.util.List;
 
 public class TreeFormatter implements ResultFormatter {
+    private final List<int[]> mstEdges = new ArrayList<>();
+
+    @Override
+    public void emit(AlgoStep.Type type, int u, int v, String extraData) {
+        if (type == AlgoStep.Type.HIGHLIGHT_PATH) mstEdges.add(new int[]{u, v});
+    }
+
     @Override
-    public String format(Graph graph, List<AlgoStep> steps) {
+    public String format(Graph graph) {
         StringBuilder sb = new StringBuilder();
         sb.append("Minimum Spanning Tree (MST):\n");
         int totalWeight = 0;
-        var mstSteps = steps.stream().filter(s -> s.type == AlgoStep.Type.HIGHLIGHT_PATH).toList();
 
-        for (AlgoStep s : mstSteps) {
-            int w = 0;
-            for(Edge e : graph.getAdj(s.u)) if(e.to == s.v) w = e.weight;
+        for (int[] s : mstEdges) {
+            Edge e = graph.getEdge(s[0], s[1]);
+            int w = e == null ? 0 : e.weight;
             totalWeight += w;
-            sb.append(String.format("Cạnh (%d - %d) : %d\n", s.u, s.v, w));
+            sb.append(String.format("Cạnh (%d - %d) : %d\n", s[0], s[1], w));
         }
         sb.append("----------------\nTổng trọng số: ").append(totalWeight);
         return sb.toString();
@@ -0,0 +1,35 @@
+package algorithm.impl.connectivity;
+
+import algorithm.result.ComponentResult;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class ComponentAssertions {
+
+    private ComponentAssertions() {
+    }
+
+    // Hai kết quả chia đỉnh giống nhau, bất kể cách đánh số thành phần
+    static void assertSamePartition(ComponentResult expected, ComponentResult actual) {
+        assertEquals(expected.componentCount, actual.componentCount, "số thành phần");
+        assertEquals(expected.componentOf.length, actual.componentOf.length, "số đỉnh");
+
+        int[] mapped = new int[expected.componentCount];
+        int[] reverse = new int[actual.componentCount];
+        Arrays.fill(mapped, -1);
+        Arrays.fill(reverse, -1);
+        for (int v = 1; v < expected.componentOf.length; v++) {
+            int a = expected.componentOf[v];
+            int b = actual.componentOf[v];
+            assertTrue(b >= 0 && b < actual.componentCount, "nhãn " + b + " của đỉnh " + v);
+            if (mapped[a] < 0 && reverse[b] < 0) {
+                mapped[a] = b;
+                reverse[b] = a;
+            }
+            assertTrue(mapped[a] == b && reverse[b] == a, "đỉnh " + v + " nằm sai thành phần");
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package algorithm.impl.connectivity;
+
+import algorithm.result.ComponentResult;
+import algorithm.util.UnionFind;
+import model.GraphSnapshot;
+import model.RandomGraphs;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Cả hai cách đều đánh số thành phần theo đỉnh nhỏ nhất nên nhãn phải trùng khớp từng đỉnh
+class ConnectedComponentsTest {
+
+    @Test
+    void smallGraphsMatchSequentialUnionFind() {
+        Random rnd = new Random(24);
+        for (int round = 0; round < 500; round++) {
+            int n = 1 + rnd.nextInt(40);
+            crossCheck(RandomGraphs.random(rnd, n, rnd.nextInt(2 * n), false, 1));
+        }
+    }
+
+    @Test
+    void largeGraphsSkipTheGiantComponent() {
+        // Bậc trung bình quanh 1 cho một thành phần khổng lồ và nhiều mảnh nhỏ, đủ đỉnh để chia việc song song
+        Random rnd = new Random(2424);
+        for (int round = 0; round < 8; round++) {
+            int n = 10000 + rnd.nextInt(90000);
+            int m = n / 4 + rnd.nextInt(2 * n);
+            crossCheck(RandomGraphs.random(rnd, n, m, false, 1));
+        }
+    }
+
+    private static void crossCheck(GraphSnapshot g) {
+        ComponentResult expected = sequential(g);
+        ComponentResult actual = new ConnectedComponents(g).solve();
+        assertEquals(expected.componentCount, actual.componentCount, "số thành phần");
+        assertArrayEquals(expected.componentOf, actual.componentOf);
+    }
+
+    private static ComponentResult sequential(GraphSnapshot g) {
+        int n = g.vertexCount();
+        UnionFind uf = new UnionFind(n);
+        for (int e = 0; e < g.edgeCount(); e++) uf.union(g.edgeFrom(e), g.edgeTo(e));
+
+        int[] idOf = new int[n + 1];
+        Arrays.fill(idOf, -1);
+        int[] component = new int[n + 1];
+        component[0] = -1;
+        int count = 0;
+        for (int v = 1; v <= n; v++) {
+            int root = uf.find(v);
+            if (idOf[root] < 0) idOf[root] = count++;
+            component[v] = idOf[root];
+        }
+        return new ComponentResult(component, count);
+    }
+}
@@ -0,0 +1,61 @@
+package algorithm.impl.connectivity;
+
+import model.CsrGraph;
+import model.GraphSnapshot;
+import model.RandomGraphs;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static algorithm.impl.connectivity.ComponentAssertions.assertSamePartition;
+
+// ParallelSCC phải chia đỉnh giống Tarjan tuần tự
+class ParallelSCCTest {
+
+    @Test
+    void smallGraphsMatchTarjan() {
+        Random rnd = new Random(19);
+        for (int round = 0; round < 500; round++) {
+            int n = 1 + rnd.nextInt(30);
+            crossCheck(RandomGraphs.random(rnd, n, rnd.nextInt(3 * n), true, 1));
+        }
+    }
+
+    @Test
+    void largeSparseGraphsMatchTarjan() {
+        // Quanh ngưỡng bậc trung bình 1 đồ thị có một SCC lớn cùng rất nhiều SCC nhỏ cho bước tô màu
+        Random rnd = new Random(1919);
+        for (int round = 0; round < 8; round++) {
+            int n = 5000 + rnd.nextInt(45000);
+            int m = n / 2 + rnd.nextInt(2 * n);
+            crossCheck(RandomGraphs.random(rnd, n, m, true, 1));
+        }
+    }
+
+    @Test
+    void chainOfCyclesMatchesTarjan() {
+        // Các chu trình nối nhau một chiều: nhiều SCC lớn, không SCC nào bị tỉa
+        int cycles = 300;
+        int length = 50;
+        int n = cycles * length;
+        int m = n + cycles - 1;
+        int[] from = new int[m];
+        int[] to = new int[m];
+        int e = 0;
+        for (int c = 0; c < cycles; c++) {
+            for (int i = 0; i < length; i++) {
+                from[e] = c * length + i + 1;
+                to[e++] = c * length + (i + 1) % length + 1;
+            }
+            if (c + 1 < cycles) {
+                from[e] = c * length + 1;
+                to[e++] = (c + 1) * length + 1;
+            }
+        }
+        crossCheck(CsrGraph.fromEdges(n, true, false, from, to, new int[m]));
+    }
+
+    private static void crossCheck(GraphSnapshot g) {
+        assertSamePartition(new Tarjan(g).solve(), new ParallelSCC(g).solve());
+    }
+}
@@ -0,0 +1,40 @@
+package algorithm.impl.flow;
+
+import algorithm.result.FlowResult;
+import model.GraphSnapshot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class FlowAssertions {
+
+    private FlowAssertions() {
+    }
+
+    // Luồng hợp lệ: nằm trong sức chứa (vô hướng thì được âm), bảo toàn ở mọi đỉnh trung gian,
+    // và lượng ra khỏi s đúng bằng maxFlow
+    static void assertValidFlow(GraphSnapshot g, int s, int t, FlowResult result) {
+        int n = g.vertexCount();
+        int m = g.edgeCount();
+        assertEquals(m, result.edgeFlow.length, "số cạnh trong kết quả");
+
+        long[] net = new long[n + 1];
+        for (int e = 0; e < m; e++) {
+            int f = result.edgeFlow[e];
+            int c = g.edgeWeight(e);
+            int low = g.isDirected() ? 0 : -c;
+            assertTrue(f >= low && f <= c, "cạnh " + e + ": luồng " + f + " ngoài [" + low + ", " + c + "]");
+            net[g.edgeFrom(e)] += f;
+            net[g.edgeTo(e)] -= f;
+        }
+
+        for (int v = 1; v <= n; v++) {
+            if (v == s || v == t) continue;
+            assertEquals(0, net[v], "bảo toàn luồng tại đỉnh " + v);
+        }
+        if (s != t) {
+            assertEquals(result.maxFlow, net[s], "luồng ra khỏi nguồn");
+            assertEquals(-result.maxFlow, net[t], "luồng vào đích");
+        }
+    }
+}
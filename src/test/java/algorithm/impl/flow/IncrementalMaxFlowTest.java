@@ -0,0 +1,88 @@
+package algorithm.impl.flow;
+
+import algorithm.result.FlowResult;
+import model.CsrGraph;
+import model.GraphSnapshot;
+import model.RandomGraphs;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static algorithm.impl.flow.FlowAssertions.assertValidFlow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Khởi động ấm từ luồng cũ phải cho cùng kết quả như tính lại từ đầu trên đồ thị mới
+class IncrementalMaxFlowTest {
+
+    @Test
+    void coldStartMatchesEdmondsKarp() {
+        Random rnd = new Random(21);
+        for (int round = 0; round < 200; round++) {
+            int n = 2 + rnd.nextInt(12);
+            CsrGraph g = RandomGraphs.random(rnd, n, rnd.nextInt(4 * n), rnd.nextBoolean(), 10);
+            int s = 1 + rnd.nextInt(n);
+            int t = 1 + rnd.nextInt(n);
+            assertRepairs(g, null, s, t);
+        }
+    }
+
+    @Test
+    void repairsAfterCapacityEdits() {
+        Random rnd = new Random(2121);
+        for (int round = 0; round < 300; round++) {
+            int n = 2 + rnd.nextInt(30);
+            CsrGraph before = RandomGraphs.random(rnd, n, 1 + rnd.nextInt(5 * n), rnd.nextBoolean(), 20);
+            int s = 1 + rnd.nextInt(n);
+            int t = 1 + rnd.nextInt(n);
+            FlowResult previous = new MaxFlow(before, s, t).solve();
+
+            // Vài cạnh đổi sức chứa; cạnh bị giảm dưới luồng hiện tại sẽ phải cắt bớt rồi sửa lại
+            int[] capacity = new int[before.edgeCount()];
+            for (int e = 0; e < capacity.length; e++) capacity[e] = before.edgeWeight(e);
+            int edits = 1 + rnd.nextInt(3);
+            for (int k = 0; k < edits && capacity.length > 0; k++) {
+                int e = rnd.nextInt(capacity.length);
+                capacity[e] = rnd.nextBoolean()
+                        ? rnd.nextInt(Math.abs(previous.edgeFlow[e]) + 1)
+                        : capacity[e] + rnd.nextInt(20);
+            }
+            assertRepairs(RandomGraphs.reweighted(before, capacity), previous.edgeFlow, s, t);
+        }
+    }
+
+    @Test
+    void restartsWhenSourceOrSinkChanges() {
+        Random rnd = new Random(212121);
+        for (int round = 0; round < 300; round++) {
+            int n = 2 + rnd.nextInt(20);
+            CsrGraph g = RandomGraphs.random(rnd, n, 1 + rnd.nextInt(5 * n), rnd.nextBoolean(), 15);
+            FlowResult previous = new MaxFlow(g, 1 + rnd.nextInt(n), 1 + rnd.nextInt(n)).solve();
+            assertRepairs(g, previous.edgeFlow, 1 + rnd.nextInt(n), 1 + rnd.nextInt(n));
+        }
+    }
+
+    @Test
+    void repairsOnLargerGraphs() {
+        Random rnd = new Random(21212121);
+        for (int round = 0; round < 10; round++) {
+            int n = 300 + rnd.nextInt(700);
+            CsrGraph before = RandomGraphs.random(rnd, n, 4 * n, rnd.nextBoolean(), 100);
+            int s = 1 + rnd.nextInt(n);
+            int t = 1 + rnd.nextInt(n);
+            FlowResult previous = new MaxFlow(before, s, t).solve();
+
+            int[] capacity = new int[before.edgeCount()];
+            for (int e = 0; e < capacity.length; e++) {
+                capacity[e] = rnd.nextInt(20) == 0 ? rnd.nextInt(100) : before.edgeWeight(e);
+            }
+            assertRepairs(RandomGraphs.reweighted(before, capacity), previous.edgeFlow, s, t);
+        }
+    }
+
+    private static void assertRepairs(GraphSnapshot g, int[] initialFlow, int s, int t) {
+        FlowResult expected = new MaxFlow(g, s, t).solve();
+        FlowResult repaired = new IncrementalMaxFlow(g, initialFlow, s, t).solve();
+        assertEquals(expected.maxFlow, repaired.maxFlow, "s=" + s + ", t=" + t);
+        assertValidFlow(g, s, t, repaired);
+    }
+}
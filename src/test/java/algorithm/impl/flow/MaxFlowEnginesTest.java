@@ -0,0 +1,90 @@
+package algorithm.impl.flow;
+
+import algorithm.result.FlowResult;
+import model.CsrGraph;
+import model.GraphSnapshot;
+import model.RandomGraphs;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static algorithm.impl.flow.FlowAssertions.assertValidFlow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Dinic (qua BlockingFlow) và PushRelabel phải cho cùng giá trị luồng cực đại với Edmonds–Karp
+class MaxFlowEnginesTest {
+
+    @Test
+    void smallRandomGraphsMatchEdmondsKarp() {
+        Random rnd = new Random(20);
+        for (int round = 0; round < 400; round++) {
+            int n = 2 + rnd.nextInt(12);
+            int m = rnd.nextInt(4 * n);
+            CsrGraph g = RandomGraphs.random(rnd, n, m, rnd.nextBoolean(), 1 + rnd.nextInt(10));
+            crossCheck(g, 1 + rnd.nextInt(n), 1 + rnd.nextInt(n));
+        }
+    }
+
+    @Test
+    void largerRandomGraphsMatchEdmondsKarp() {
+        Random rnd = new Random(2020);
+        for (int round = 0; round < 20; round++) {
+            int n = 200 + rnd.nextInt(800);
+            int m = n * (2 + rnd.nextInt(6));
+            CsrGraph g = RandomGraphs.random(rnd, n, m, rnd.nextBoolean(), 1 + rnd.nextInt(1000));
+            crossCheck(g, 1 + rnd.nextInt(n), 1 + rnd.nextInt(n));
+        }
+    }
+
+    @Test
+    void layeredGraphNeedsManyPhases() {
+        // Nhiều tầng nối tiếp buộc Dinic qua nhiều pha và PushRelabel phải gán lại nhãn toàn cục
+        Random rnd = new Random(7);
+        int layers = 30;
+        int width = 8;
+        int n = layers * width + 2;
+        int s = n - 1;
+        int t = n;
+        int m = 2 * width + (layers - 1) * width * 3;
+        int[] from = new int[m];
+        int[] to = new int[m];
+        int[] cap = new int[m];
+        int e = 0;
+        for (int i = 1; i <= width; i++) {
+            from[e] = s; to[e] = i; cap[e++] = 1 + rnd.nextInt(50);
+            from[e] = (layers - 1) * width + i; to[e] = t; cap[e++] = 1 + rnd.nextInt(50);
+        }
+        for (int l = 0; l + 1 < layers; l++) {
+            for (int i = 0; i < width; i++) {
+                for (int k = 0; k < 3; k++) {
+                    from[e] = l * width + i + 1;
+                    to[e] = (l + 1) * width + rnd.nextInt(width) + 1;
+                    cap[e++] = 1 + rnd.nextInt(20);
+                }
+            }
+        }
+        crossCheck(CsrGraph.fromEdges(n, true, true, from, to, cap), s, t);
+    }
+
+    @Test
+    void sameSourceAndSinkGivesZeroFlow() {
+        CsrGraph g = RandomGraphs.random(new Random(1), 10, 30, true, 5);
+        for (FlowResult r : new FlowResult[]{
+                new MaxFlow(g, 3, 3).solve(), new Dinic(g, 3, 3).solve(), new PushRelabel(g, 3, 3).solve()}) {
+            assertEquals(0, r.maxFlow);
+        }
+    }
+
+    private static void crossCheck(GraphSnapshot g, int s, int t) {
+        FlowResult expected = new MaxFlow(g, s, t).solve();
+        assertValidFlow(g, s, t, expected);
+
+        FlowResult dinic = new Dinic(g, s, t).solve();
+        assertEquals(expected.maxFlow, dinic.maxFlow, "Dinic, s=" + s + ", t=" + t);
+        assertValidFlow(g, s, t, dinic);
+
+        FlowResult pushRelabel = new PushRelabel(g, s, t).solve();
+        assertEquals(expected.maxFlow, pushRelabel.maxFlow, "PushRelabel, s=" + s + ", t=" + t);
+        assertValidFlow(g, s, t, pushRelabel);
+    }
+}
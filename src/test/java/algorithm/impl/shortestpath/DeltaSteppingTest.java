@@ -0,0 +1,67 @@
+package algorithm.impl.shortestpath;
+
+import algorithm.result.ShortestPathResult;
+import model.CsrGraph;
+import model.GraphSnapshot;
+import model.RandomGraphs;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Delta-stepping phải cho cùng khoảng cách với Dijkstra với mọi delta; cha có thể khác khi có nhiều đường
+// ngắn nhất nên chỉ kiểm tra cha là một cung nằm trên đường ngắn nhất
+class DeltaSteppingTest {
+
+    @Test
+    void smallGraphsMatchDijkstra() {
+        Random rnd = new Random(15);
+        for (int round = 0; round < 300; round++) {
+            int n = 1 + rnd.nextInt(30);
+            CsrGraph g = RandomGraphs.random(rnd, n, rnd.nextInt(5 * n), rnd.nextBoolean(), 1 + rnd.nextInt(20));
+            int start = 1 + rnd.nextInt(n);
+            crossCheck(g, start, 1);
+            crossCheck(g, start, DeltaStepping.defaultDelta(g));
+            crossCheck(g, start, 1 + rnd.nextInt(50));
+        }
+    }
+
+    @Test
+    void largeGraphsRelaxInParallel() {
+        // Bucket đủ lớn để vượt GRAIN và chia việc trên ForkJoinPool
+        Random rnd = new Random(1515);
+        for (int round = 0; round < 4; round++) {
+            int n = 20000 + rnd.nextInt(20000);
+            CsrGraph g = RandomGraphs.random(rnd, n, 5 * n, rnd.nextBoolean(), 1 + rnd.nextInt(1000));
+            int start = 1 + rnd.nextInt(n);
+            crossCheck(g, start, DeltaStepping.defaultDelta(g));
+            crossCheck(g, start, 1 + rnd.nextInt(2000));
+        }
+    }
+
+    private static void crossCheck(GraphSnapshot g, int start, int delta) {
+        int n = g.vertexCount();
+        ShortestPathResult expected = new Dijkstra(g, start, -1).solve();
+        ShortestPathResult actual = new DeltaStepping(g, start, -1, delta).solve();
+
+        for (int v = 1; v <= n; v++) {
+            assertEquals(expected.dist[v], actual.dist[v], "dist[" + v + "], delta=" + delta);
+        }
+        assertEquals(-1, actual.parent[start], "cha của đỉnh nguồn");
+        for (int v = 1; v <= n; v++) {
+            if (v == start || !actual.isReachable(v)) continue;
+            int p = actual.parent[v];
+            assertTrue(p >= 1 && hasArc(g, p, v, actual.dist[v] - actual.dist[p]),
+                    "cha " + p + " của " + v + " không nằm trên đường ngắn nhất");
+        }
+    }
+
+    private static boolean hasArc(GraphSnapshot g, int u, int v, int weight) {
+        for (int i = g.begin(u), end = g.end(u); i < end; i++) {
+            if (g.target(i) == v && g.weight(i) == weight) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,149 @@
+package algorithm.impl.shortestpath;
+
+import algorithm.result.DistanceMatrix;
+import algorithm.result.ShortestPathResult;
+import model.CsrGraph;
+import model.GraphSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// CH, Dijkstra hai chiều, A* hai chiều, ALT và All-Pairs phải cho cùng khoảng cách với Dijkstra; đường đi trả về
+// phải đi từ s đến t theo các cung có thật với đúng độ dài đó. Đồ thị được đặt lên mặt phẳng và trọng số mỗi cạnh
+// không nhỏ hơn khoảng cách Euclid giữa hai đầu (theo thang của EuclideanHeuristic) để heuristic chấp nhận được
+class ShortestPathEnginesTest {
+    private static final double PIXELS_PER_UNIT = 200.0;
+
+    @Test
+    void smallGraphsMatchDijkstra() {
+        Random rnd = new Random(13);
+        for (int round = 0; round < 300; round++) {
+            int n = 1 + rnd.nextInt(40);
+            double[] coords = randomCoords(rnd, n, 1000);
+            CsrGraph g = geometric(rnd, coords, rnd.nextInt(4 * n), rnd.nextBoolean(), 1 + rnd.nextInt(4));
+            for (int query = 0; query < 5; query++) {
+                crossCheck(g, coords, 1 + rnd.nextInt(n), 1 + rnd.nextInt(n));
+            }
+            assertSameMatrix(g, AllPairsShortestPath.of(g));
+        }
+    }
+
+    @Test
+    void largeSparseGraphsMatchDijkstra() {
+        // Đủ lớn để All-Pairs chia nguồn trên ForkJoinPool và CH dừng co ở lõi
+        Random rnd = new Random(1313);
+        for (int round = 0; round < 2; round++) {
+            int n = 1500 + rnd.nextInt(1500);
+            double[] coords = randomCoords(rnd, n, 5000);
+            CsrGraph g = geometric(rnd, coords, 4 * n, round == 0, 5);
+            assertFalse(AllPairsShortestPath.isDense(g), "đồ thị phải đủ thưa");
+            assertTrue(ContractionHierarchy.of(g).coreSize() > 0, "CH phải để lại lõi");
+            for (int query = 0; query < 20; query++) {
+                crossCheck(g, coords, 1 + rnd.nextInt(n), 1 + rnd.nextInt(n));
+            }
+            assertSameMatrix(g, AllPairsShortestPath.of(g));
+        }
+    }
+
+    @Test
+    void denseGraphsUseFloydWarshallAndCore() {
+        // Bậc vượt ngưỡng lõi của CH nên truy vấn chạy Dijkstra hai chiều trên lõi
+        Random rnd = new Random(131313);
+        for (int round = 0; round < 4; round++) {
+            int n = 100 + rnd.nextInt(100);
+            double[] coords = randomCoords(rnd, n, 1000);
+            CsrGraph g = geometric(rnd, coords, n * n / 4, rnd.nextBoolean(), 3);
+            assertTrue(AllPairsShortestPath.isDense(g), "đồ thị phải đủ dày");
+            assertTrue(ContractionHierarchy.of(g).coreSize() > 0, "CH phải để lại lõi");
+            for (int query = 0; query < 20; query++) {
+                crossCheck(g, coords, 1 + rnd.nextInt(n), 1 + rnd.nextInt(n));
+            }
+            assertSameMatrix(g, AllPairsShortestPath.of(g));
+        }
+    }
+
+    private static void crossCheck(GraphSnapshot g, double[] coords, int s, int t) {
+        ShortestPathResult expected = new Dijkstra(g, s, -1).solve();
+
+        ShortestPathResult[] engines = {
+                new ContractionHierarchySearch(g, s, t).solve(),
+                new BidirectionalDijkstra(g, s, t).solve(),
+                new BidirectionalAStar(g, s, t, coords).solve(),
+                AStar.withLandmarks(g, s, t).solve(),
+        };
+        for (ShortestPathResult actual : engines) {
+            assertEquals(expected.dist[t], actual.dist[t], "khoảng cách " + s + " -> " + t);
+            assertPath(g, s, t, actual);
+        }
+    }
+
+    private static void assertPath(GraphSnapshot g, int s, int t, ShortestPathResult r) {
+        int[] path = r.path();
+        if (!r.isReachable(t)) {
+            assertEquals(0, path.length, "không tới được thì không có đường");
+            return;
+        }
+        assertTrue(path.length > 0, "thiếu đường đi " + s + " -> " + t);
+        assertEquals(s, path[0], "đường đi phải bắt đầu ở nguồn");
+        assertEquals(t, path[path.length - 1], "đường đi phải kết thúc ở đích");
+
+        long length = 0;
+        for (int i = 0; i + 1 < path.length; i++) {
+            int w = lightestArc(g, path[i], path[i + 1]);
+            assertTrue(w >= 0, "không có cung " + path[i] + " -> " + path[i + 1]);
+            length += w;
+        }
+        assertEquals(r.dist[t], length, "độ dài đường đi " + s + " -> " + t);
+    }
+
+    private static void assertSameMatrix(GraphSnapshot g, DistanceMatrix matrix) {
+        int n = g.vertexCount();
+        // Đồ thị lớn chỉ đối chiếu một phần các hàng
+        int step = Math.max(1, n / 40);
+        for (int s = 1; s <= n; s += step) {
+            ShortestPathResult expected = new Dijkstra(g, s, -1).solve();
+            for (int v = 1; v <= n; v++) {
+                assertEquals(expected.dist[v], matrix.get(s, v), "ma trận khoảng cách " + s + " -> " + v);
+            }
+        }
+    }
+
+    // Cung nhẹ nhất u -> v, hoặc -1 nếu không có
+    private static int lightestArc(GraphSnapshot g, int u, int v) {
+        int best = -1;
+        for (int a = g.begin(u), end = g.end(u); a < end; a++) {
+            if (g.target(a) == v && (best < 0 || g.weight(a) < best)) best = g.weight(a);
+        }
+        return best;
+    }
+
+    private static double[] randomCoords(Random rnd, int n, int size) {
+        double[] coords = new double[2 * (n + 1)];
+        for (int v = 1; v <= n; v++) {
+            coords[2 * v] = rnd.nextInt(size);
+            coords[2 * v + 1] = rnd.nextInt(size);
+        }
+        return coords;
+    }
+
+    // Trọng số = 1 + khoảng cách Euclid làm tròn lên + phần thêm ngẫu nhiên, có cạnh song song và khuyên
+    private static CsrGraph geometric(Random rnd, double[] coords, int m, boolean directed, int maxExtra) {
+        int n = coords.length / 2 - 1;
+        int[] from = new int[m];
+        int[] to = new int[m];
+        int[] weights = new int[m];
+        for (int e = 0; e < m; e++) {
+            int u = 1 + rnd.nextInt(n), v = 1 + rnd.nextInt(n);
+            double dx = coords[2 * u] - coords[2 * v];
+            double dy = coords[2 * u + 1] - coords[2 * v + 1];
+            from[e] = u;
+            to[e] = v;
+            weights[e] = 1 + (int) Math.ceil(Math.sqrt(dx * dx + dy * dy) / PIXELS_PER_UNIT) + rnd.nextInt(maxExtra);
+        }
+        return CsrGraph.fromEdges(n, directed, true, from, to, weights);
+    }
+}
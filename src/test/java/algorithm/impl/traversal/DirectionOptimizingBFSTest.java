@@ -0,0 +1,95 @@
+package algorithm.impl.traversal;
+
+import algorithm.result.LevelTraversalResult;
+import algorithm.result.TraversalResult;
+import model.CsrGraph;
+import model.GraphSnapshot;
+import model.RandomGraphs;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Tầng của mỗi đỉnh phải trùng với BFS tuần tự; cha có thể khác nhưng phải ở đúng tầng trước
+class DirectionOptimizingBFSTest {
+
+    @Test
+    void smallGraphsMatchBfs() {
+        Random rnd = new Random(16);
+        for (int round = 0; round < 400; round++) {
+            int n = 1 + rnd.nextInt(40);
+            CsrGraph g = RandomGraphs.random(rnd, n, rnd.nextInt(4 * n), rnd.nextBoolean(), 1);
+            crossCheck(g, 1 + rnd.nextInt(n));
+        }
+    }
+
+    @Test
+    void hubGraphsSwitchToBottomUp() {
+        // Vài đỉnh hub chiếm phần lớn cạnh làm frontier phình to, buộc chuyển sang duyệt từ dưới lên;
+        // nhiều nghìn đỉnh để bitset chia thành nhiều dải song song
+        Random rnd = new Random(1616);
+        for (int round = 0; round < 6; round++) {
+            int n = 10000 + rnd.nextInt(30000);
+            int m = 8 * n;
+            int hubs = 1 + rnd.nextInt(5);
+            int[] from = new int[m];
+            int[] to = new int[m];
+            int[] weights = new int[m];
+            for (int e = 0; e < m; e++) {
+                from[e] = rnd.nextInt(3) == 0 ? 1 + rnd.nextInt(hubs) : 1 + rnd.nextInt(n);
+                to[e] = 1 + rnd.nextInt(n);
+                weights[e] = 1;
+            }
+            CsrGraph g = CsrGraph.fromEdges(n, rnd.nextBoolean(), false, from, to, weights);
+            crossCheck(g, 1 + rnd.nextInt(n));
+            crossCheck(g, 1);
+        }
+    }
+
+    private static void crossCheck(GraphSnapshot g, int start) {
+        int n = g.vertexCount();
+        int[] expected = levels(n, new BFS(g, start).solve());
+        LevelTraversalResult actual = new DirectionOptimizingBFS(g, start).solve();
+
+        int reached = 0;
+        for (int v = 1; v <= n; v++) {
+            assertEquals(expected[v], actual.level[v], "tầng của " + v);
+            if (actual.level[v] >= 0) reached++;
+        }
+
+        assertEquals(-1, actual.parent[start], "cha của đỉnh xuất phát");
+        for (int v = 1; v <= n; v++) {
+            if (v == start || actual.level[v] < 0) continue;
+            int p = actual.parent[v];
+            assertTrue(p >= 1 && actual.level[p] == actual.level[v] - 1 && hasArc(g, p, v),
+                    "cha " + p + " của " + v + " không ở tầng trước");
+        }
+
+        // Thứ tự thăm gồm đúng các đỉnh tới được, mỗi đỉnh một lần, tầng không giảm
+        assertEquals(reached, actual.order.length, "số đỉnh trong thứ tự thăm");
+        boolean[] seen = new boolean[n + 1];
+        for (int i = 0; i < actual.order.length; i++) {
+            int v = actual.order[i];
+            assertTrue(!seen[v] && actual.level[v] >= 0, "đỉnh " + v + " trong thứ tự thăm");
+            seen[v] = true;
+            if (i > 0) assertTrue(actual.level[actual.order[i - 1]] <= actual.level[v], "tầng giảm tại " + i);
+        }
+    }
+
+    private static int[] levels(int n, TraversalResult bfs) {
+        int[] level = new int[n + 1];
+        Arrays.fill(level, -1);
+        for (int v : bfs.order) level[v] = v == bfs.start ? 0 : level[bfs.parent[v]] + 1;
+        return level;
+    }
+
+    private static boolean hasArc(GraphSnapshot g, int u, int v) {
+        for (int i = g.begin(u), end = g.end(u); i < end; i++) {
+            if (g.target(i) == v) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,72 @@
+package algorithm.impl.traversal;
+
+import algorithm.result.HopDistanceTable;
+import algorithm.result.TraversalResult;
+import model.CsrGraph;
+import model.GraphSnapshot;
+import model.RandomGraphs;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Khoảng cách hop từ mỗi nguồn phải trùng với tầng của BFS tuần tự từ nguồn đó.
+// Luôn nhiều hơn 64 nguồn để có ít nhất hai lô chạy song song, lô cuối thường không đầy
+class MultiSourceBFSTest {
+
+    @Test
+    void randomGraphsMatchBfs() {
+        Random rnd = new Random(17);
+        for (int round = 0; round < 40; round++) {
+            int n = 1 + rnd.nextInt(300);
+            CsrGraph g = RandomGraphs.random(rnd, n, rnd.nextInt(3 * n), rnd.nextBoolean(), 1);
+            // Nguồn có thể lặp lại
+            int[] sources = new int[HopDistanceTable.BATCH + 1 + rnd.nextInt(3 * HopDistanceTable.BATCH)];
+            for (int i = 0; i < sources.length; i++) sources[i] = 1 + rnd.nextInt(n);
+            crossCheck(g, sources);
+        }
+    }
+
+    @Test
+    void longPathsWidenCells() {
+        // Đường thẳng dài hơn 254 cạnh nên ô 1 byte phải nới lên char; mỗi tầng quét cả n đỉnh
+        // nên không thử tới ngưỡng int (hơn 65534 tầng)
+        int n = 2000;
+        int[] from = new int[n - 1];
+        int[] to = new int[n - 1];
+        int[] weights = new int[n - 1];
+        for (int e = 0; e < n - 1; e++) {
+            from[e] = e + 1;
+            to[e] = e + 2;
+            weights[e] = 1;
+        }
+        CsrGraph g = CsrGraph.fromEdges(n, true, false, from, to, weights);
+
+        int[] sources = new int[HopDistanceTable.BATCH + 6];
+        for (int i = 0; i < sources.length; i++) sources[i] = 1 + i * 10;
+        crossCheck(g, sources);
+    }
+
+    private static void crossCheck(GraphSnapshot g, int[] sources) {
+        int n = g.vertexCount();
+        HopDistanceTable table = new MultiSourceBFS(g, sources).solve();
+        assertEquals(sources.length, table.sourceCount(), "số nguồn");
+
+        for (int i = 0; i < sources.length; i++) {
+            assertEquals(sources[i], table.source(i), "nguồn thứ " + i);
+            int[] expected = levels(n, new BFS(g, sources[i]).solve());
+            for (int v = 1; v <= n; v++) {
+                assertEquals(expected[v], table.get(i, v), "khoảng cách từ nguồn " + i + " tới " + v);
+            }
+        }
+    }
+
+    private static int[] levels(int n, TraversalResult bfs) {
+        int[] level = new int[n + 1];
+        Arrays.fill(level, HopDistanceTable.UNREACHABLE);
+        for (int v : bfs.order) level[v] = v == bfs.start ? 0 : level[bfs.parent[v]] + 1;
+        return level;
+    }
+}
@@ -0,0 +1,118 @@
+package algorithm.impl.tree;
+
+import algorithm.result.SpanningTreeResult;
+import algorithm.util.UnionFind;
+import model.CsrGraph;
+import model.GraphSnapshot;
+import model.RandomGraphs;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Boruvka và FilterKruskal phải ra cùng rừng khung nhỏ nhất với Kruskal; Prim (chỉ chạy trên đồ thị vô hướng)
+// phải ra một rừng khung cùng tổng trọng số. Trọng số chỉ có vài giá trị để có nhiều cạnh bằng nhau
+class SpanningTreeEnginesTest {
+
+    @Test
+    void smallGraphsWithTiesMatchKruskal() {
+        Random rnd = new Random(22);
+        for (int round = 0; round < 400; round++) {
+            int n = 1 + rnd.nextInt(20);
+            CsrGraph g = RandomGraphs.random(rnd, n, rnd.nextInt(4 * n), false, 1 + rnd.nextInt(3));
+            crossCheck(g);
+        }
+    }
+
+    @Test
+    void largeGraphsUseParallelAndFilterPaths() {
+        // Đủ cạnh để vượt THRESHOLD của FilterKruskal và GRAIN của Boruvka
+        Random rnd = new Random(2222);
+        for (int round = 0; round < 6; round++) {
+            int n = 2000 + rnd.nextInt(8000);
+            int m = n * (1 + rnd.nextInt(8));
+            CsrGraph g = RandomGraphs.random(rnd, n, m, rnd.nextBoolean(), 1 + rnd.nextInt(5));
+            crossCheck(g);
+        }
+    }
+
+    @Test
+    void denseGraphsUsePrimArrayScan() {
+        Random rnd = new Random(2323);
+        for (int round = 0; round < 20; round++) {
+            int n = 2 + rnd.nextInt(80);
+            CsrGraph g = RandomGraphs.random(rnd, n, n * n / 2 + rnd.nextInt(n * n), false, 1 + rnd.nextInt(5));
+            assertTrue(Prim.isDense(g), "đồ thị phải đủ dày");
+            crossCheck(g);
+        }
+
+        // Hai thành phần dày: hết khóa trong thành phần đầu thì Prim phải nhảy sang thành phần kia
+        int half = 40;
+        int m = half * half;
+        int[] from = new int[m];
+        int[] to = new int[m];
+        int[] weights = new int[m];
+        for (int e = 0; e < m; e++) {
+            int offset = e % 2 == 0 ? 0 : half;
+            from[e] = offset + 1 + rnd.nextInt(half);
+            to[e] = offset + 1 + rnd.nextInt(half);
+            weights[e] = 1 + rnd.nextInt(3);
+        }
+        CsrGraph g = CsrGraph.fromEdges(2 * half, false, true, from, to, weights);
+        assertTrue(Prim.isDense(g), "đồ thị phải đủ dày");
+        crossCheck(g);
+    }
+
+    @Test
+    void allEqualWeights() {
+        CsrGraph g = RandomGraphs.random(new Random(5), 3000, 30000, false, 1);
+        crossCheck(g);
+    }
+
+    private static void crossCheck(GraphSnapshot g) {
+        SpanningTreeResult expected = new Kruskal(g).solve();
+        assertForest(g, expected);
+
+        SpanningTreeResult[] engines = {new Boruvka(g).solve(), new FilterKruskal(g).solve()};
+        for (SpanningTreeResult actual : engines) {
+            assertEquals(expected.totalWeight, actual.totalWeight, "tổng trọng số");
+            assertEquals(expected.edges.length, actual.edges.length, "số cạnh");
+            assertForest(g, actual);
+            // Khóa (trọng số, chỉ số cạnh) phân biệt mọi cạnh nên rừng khung nhỏ nhất là duy nhất
+            assertArrayEquals(sorted(expected.edges), sorted(actual.edges));
+        }
+
+        if (!g.isDirected()) {
+            // Khóa của Prim chỉ là trọng số nên khi bằng nhau có thể chọn cạnh khác, chỉ so tổng và số cạnh
+            SpanningTreeResult prim = new Prim(g, 1).solve();
+            assertEquals(expected.totalWeight, prim.totalWeight, "tổng trọng số của Prim");
+            assertEquals(expected.edges.length, prim.edges.length, "số cạnh của Prim");
+            assertForest(g, prim);
+        }
+    }
+
+    private static void assertForest(GraphSnapshot g, SpanningTreeResult r) {
+        UnionFind uf = new UnionFind(g.vertexCount());
+        long total = 0;
+        for (int e : r.edges) {
+            assertTrue(uf.union(g.edgeFrom(e), g.edgeTo(e)), "cạnh " + e + " tạo chu trình");
+            total += g.edgeWeight(e);
+        }
+        assertEquals(total, r.totalWeight, "tổng trọng số khớp với danh sách cạnh");
+
+        // Rừng khung: mọi cạnh của đồ thị nằm trong một cây
+        for (int e = 0; e < g.edgeCount(); e++) {
+            assertTrue(uf.connected(g.edgeFrom(e), g.edgeTo(e)), "cạnh " + e + " nối hai cây khác nhau");
+        }
+    }
+
+    private static int[] sorted(int[] edges) {
+        int[] copy = edges.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+}
@@ -0,0 +1,63 @@
+package algorithm.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ConcurrentUnionFindTest {
+    private static final int THREADS = 4;
+
+    @Test
+    void concurrentUnionsMatchSequential() throws InterruptedException {
+        Random rnd = new Random(240);
+        for (int round = 0; round < 20; round++) {
+            int n = 1000 + rnd.nextInt(50000);
+            int m = n / 2 + rnd.nextInt(2 * n);
+            int[] from = new int[m];
+            int[] to = new int[m];
+            for (int e = 0; e < m; e++) {
+                from[e] = 1 + rnd.nextInt(n);
+                to[e] = 1 + rnd.nextInt(n);
+            }
+
+            UnionFind expected = new UnionFind(n);
+            for (int e = 0; e < m; e++) expected.union(from[e], to[e]);
+
+            ConcurrentUnionFind actual = new ConcurrentUnionFind(n);
+            AtomicInteger merges = new AtomicInteger();
+            CountDownLatch go = new CountDownLatch(1);
+            Thread[] threads = new Thread[THREADS];
+            for (int k = 0; k < THREADS; k++) {
+                int first = k;
+                threads[k] = new Thread(() -> {
+                    try {
+                        go.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    // Các luồng xen kẽ cạnh với nhau để tranh chấp trên cùng các gốc
+                    for (int e = first; e < m; e += THREADS) {
+                        if (actual.union(from[e], to[e])) merges.incrementAndGet();
+                    }
+                });
+                threads[k].start();
+            }
+            go.countDown();
+            for (Thread t : threads) t.join();
+
+            // Mỗi lần hợp thành công giảm đúng một tập (ban đầu n + 1 tập vì có cả phần tử 0)
+            assertEquals(n + 1 - expected.setCount(), merges.get(), "số lần hợp thành công");
+
+            // Gốc luôn là phần tử nhỏ nhất nên so trực tiếp với phần tử nhỏ nhất của tập tuần tự
+            int[] smallest = new int[n + 1];
+            for (int v = n; v >= 1; v--) smallest[expected.find(v)] = v;
+            for (int v = 1; v <= n; v++) {
+                assertEquals(smallest[expected.find(v)], actual.find(v), "gốc của " + v);
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// GraphBuilder phải dựng đúng đồ thị như khi gọi Graph.addEdge lần lượt với cùng dãy cạnh: cùng danh sách cạnh
+// (thứ tự, chiều, trọng số của lần thêm cuối), cùng danh sách kề và cùng các hàng CSR. Ngoại lệ duy nhất là khuyên
+// vô hướng bị thêm lại: Graph.addEdge chỉ cập nhật một trong hai bản của khuyên, GraphBuilder cập nhật cả hai
+class GraphBuilderTest {
+
+    @Test
+    void matchesRepeatedAddEdge() {
+        Random rnd = new Random(3);
+        for (int round = 0; round < 2000; round++) {
+            int n = 1 + rnd.nextInt(30);
+            boolean directed = rnd.nextBoolean();
+            boolean weighted = rnd.nextBoolean();
+            // Ít đỉnh, nhiều cạnh, trọng số nhỏ để có nhiều cạnh trùng (cả hai chiều khi vô hướng) và khuyên
+            CsrGraph edges = RandomGraphs.random(rnd, n, rnd.nextInt(4 * n + 1), directed, 1 + rnd.nextInt(9));
+
+            Graph expected = new Graph(new GraphConfig(directed, weighted));
+            expected.createVertices(n);
+            GraphBuilder builder = new GraphBuilder(directed, weighted, n);
+            boolean[] hasLoop = new boolean[n + 1];
+            for (int e = 0; e < edges.edgeCount(); e++) {
+                int u = edges.edgeFrom(e), v = edges.edgeTo(e), w = edges.edgeWeight(e);
+                if (!directed && u == v) {
+                    if (hasLoop[u]) continue;
+                    hasLoop[u] = true;
+                }
+                // Đỉnh ngoài [1, n] bị bỏ qua ở cả hai phía
+                if (rnd.nextInt(20) == 0) u = rnd.nextBoolean() ? 0 : n + 1;
+                expected.addEdge(u, v, w);
+                builder.addEdge(u, v, w);
+            }
+
+            assertSameGraph(expected, builder.build(), n);
+            assertSameRows(expected.snapshot(), builder.buildSnapshot(), n);
+        }
+    }
+
+    @Test
+    void repeatedUndirectedSelfLoop() {
+        Graph expected = new Graph(new GraphConfig(false, true));
+        expected.createVertices(3);
+        GraphBuilder builder = new GraphBuilder(false, true, 3);
+        int[][] sequence = {{1, 2, 5}, {2, 2, 4}, {2, 3, 1}, {2, 2, 7}};
+        for (int[] edge : sequence) {
+            expected.addEdge(edge[0], edge[1], edge[2]);
+            builder.addEdge(edge[0], edge[1], edge[2]);
+        }
+        Graph actual = builder.build();
+
+        // Danh sách cạnh và CSR vẫn giống nhau: cả hai giữ một cạnh khuyên với trọng số cuối
+        assertSameEdges(expected.getEdges(), actual.getEdges());
+        assertSameRows(expected.snapshot(), actual.snapshot(), 3);
+
+        // Danh sách kề của đỉnh 2 là 1, khuyên, khuyên, 3; Graph.addEdge để bản thứ hai giữ trọng số cũ
+        List<Edge> stale = expected.getAdj(2);
+        List<Edge> fresh = actual.getAdj(2);
+        assertEquals(4, stale.size());
+        assertEquals(4, fresh.size());
+        assertEquals(7, stale.get(1).weight);
+        assertEquals(4, stale.get(2).weight);
+        assertEquals(7, fresh.get(1).weight);
+        assertEquals(7, fresh.get(2).weight);
+    }
+
+    private static void assertSameGraph(Graph expected, Graph actual, int n) {
+        assertEquals(n, actual.vertexCount(), "số đỉnh");
+        assertSameEdges(expected.getEdges(), actual.getEdges());
+        for (int v = 1; v <= n; v++) {
+            assertSameEdges(expected.getAdj(v), actual.getAdj(v));
+        }
+    }
+
+    private static void assertSameEdges(List<Edge> expected, List<Edge> actual) {
+        assertEquals(expected.size(), actual.size(), "số cạnh");
+        for (int i = 0; i < expected.size(); i++) {
+            Edge a = expected.get(i), b = actual.get(i);
+            assertEquals(a.from, b.from, "đầu cạnh " + i);
+            assertEquals(a.to, b.to, "cuối cạnh " + i);
+            assertEquals(a.weight, b.weight, "trọng số cạnh " + i);
+        }
+    }
+
+    private static void assertSameRows(GraphSnapshot expected, GraphSnapshot actual, int n) {
+        assertEquals(expected.edgeCount(), actual.edgeCount(), "số cạnh trong CSR");
+        for (int v = 1; v <= n; v++) {
+            assertEquals(expected.begin(v), actual.begin(v), "đầu hàng " + v);
+            assertEquals(expected.end(v), actual.end(v), "cuối hàng " + v);
+            for (int i = expected.begin(v); i < expected.end(v); i++) {
+                assertEquals(expected.target(i), actual.target(i), "đích cung " + i);
+                assertEquals(expected.weight(i), actual.weight(i), "trọng số cung " + i);
+                assertEquals(expected.edgeOf(i), actual.edgeOf(i), "cạnh của cung " + i);
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package model;
+
+import java.util.Random;
+
+// Đồ thị ngẫu nhiên cho các bài kiểm tra đối chiếu; có thể có cạnh song song và khuyên
+public final class RandomGraphs {
+
+    private RandomGraphs() {
+    }
+
+    // Trọng số trong [1, maxWeight]: maxWeight nhỏ thì nhiều cạnh trùng trọng số
+    public static CsrGraph random(Random rnd, int n, int m, boolean directed, int maxWeight) {
+        int[] from = new int[m];
+        int[] to = new int[m];
+        int[] weights = new int[m];
+        for (int e = 0; e < m; e++) {
+            from[e] = 1 + rnd.nextInt(n);
+            to[e] = 1 + rnd.nextInt(n);
+            weights[e] = 1 + rnd.nextInt(maxWeight);
+        }
+        return CsrGraph.fromEdges(n, directed, true, from, to, weights);
+    }
+
+    // Cùng danh sách cạnh, chỉ thay trọng số (sức chứa) theo chỉ số cạnh
+    public static CsrGraph reweighted(GraphSnapshot g, int[] weights) {
+        int m = g.edgeCount();
+        int[] from = new int[m];
+        int[] to = new int[m];
+        for (int e = 0; e < m; e++) {
+            from[e] = g.edgeFrom(e);
+            to[e] = g.edgeTo(e);
+        }
+        return CsrGraph.fromEdges(g.vertexCount(), g.isDirected(), true, from, to, weights.clone());
+    }
+}